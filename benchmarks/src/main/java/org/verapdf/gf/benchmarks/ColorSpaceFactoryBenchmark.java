@@ -0,0 +1,56 @@
+package org.verapdf.gf.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.verapdf.gf.model.factory.colors.ColorSpaceFactory;
+import org.verapdf.gf.model.impl.pd.util.PDResourcesHandler;
+import org.verapdf.pd.colors.PDColorSpace;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of veraPDF color spaces for all color spaces of the first page
+ * resources. With {@code warmCaches} disabled every invocation starts with an
+ * empty color space cache.
+ *
+ * @author Sergey Shemyakov
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ColorSpaceFactoryBenchmark extends DocumentBenchmark {
+
+	@Param({"true", "false"})
+	public boolean warmCaches;
+
+	private PDColorSpace[] colorSpaces;
+	private PDResourcesHandler resourcesHandler;
+
+	@Setup(Level.Trial)
+	public void resolveColorSpaces() {
+		this.resourcesHandler = getFirstPageResources();
+		this.colorSpaces = new PDColorSpace[SyntheticDocument.COLOR_SPACE_NAMES.length];
+		for (int i = 0; i < this.colorSpaces.length; ++i) {
+			this.colorSpaces[i] = this.resourcesHandler.getColorSpace(SyntheticDocument.COLOR_SPACE_NAMES[i]);
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void resetCaches() {
+		if (!this.warmCaches) {
+			bindEmptyContext();
+		}
+	}
+
+	@Benchmark
+	public void getColorSpace(Blackhole blackhole) {
+		for (PDColorSpace colorSpace : this.colorSpaces) {
+			blackhole.consume(ColorSpaceFactory.getColorSpace(colorSpace, this.resourcesHandler));
+		}
+	}
+}
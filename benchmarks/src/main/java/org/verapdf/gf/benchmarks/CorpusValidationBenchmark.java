@@ -0,0 +1,94 @@
+package org.verapdf.gf.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.verapdf.core.VeraPDFException;
+import org.verapdf.gf.benchmarks.corpus.CorpusConfig;
+import org.verapdf.gf.benchmarks.corpus.CorpusGenerator;
+import org.verapdf.gf.model.GFModelParser;
+import org.verapdf.gf.model.ModelParserConfig;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+import org.verapdf.pdfa.results.ValidationResult;
+import org.verapdf.pdfa.validation.validators.ValidatorFactory;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and PDF/A-2B validation of a document generated by
+ * {@link CorpusGenerator}. Parameters select the scale of every subsystem,
+ * e.g. {@code -p fonts=50 -p glyphs=200} stresses fonts and glyphs, while
+ * {@code -p signatures=20} stresses signatures. {@code -p pageRelease=true}
+ * validates the document in page release mode.
+ *
+ * @author Sergey Shemyakov
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+public class CorpusValidationBenchmark {
+
+	@Param("10")
+	public int pages;
+
+	@Param("1000")
+	public int operators;
+
+	@Param("SHARED")
+	public CorpusConfig.FormXObjects forms;
+
+	@Param("4")
+	public int fonts;
+
+	@Param("64")
+	public int glyphs;
+
+	@Param("icc_based,separation,device_n")
+	public String colorSpaces;
+
+	@Param("0")
+	public int embeddedFiles;
+
+	@Param("3")
+	public int structureDepth;
+
+	@Param("0")
+	public int signatures;
+
+	@Param("false")
+	public boolean pageRelease;
+
+	private byte[] source;
+
+	@Setup(Level.Trial)
+	public void generateDocument() {
+		this.source = CorpusGenerator.generate(CorpusConfig.defaultConfig()
+				.setPages(this.pages)
+				.setOperatorsPerPage(this.operators)
+				.setFormXObjects(this.forms)
+				.setFonts(this.fonts)
+				.setGlyphsPerFont(this.glyphs)
+				.setColorSpaces(CorpusConfig.parseColorSpaces(this.colorSpaces))
+				.setEmbeddedFiles(this.embeddedFiles)
+				.setStructureDepth(this.structureDepth)
+				.setSignatures(this.signatures));
+	}
+
+	@Benchmark
+	public ValidationResult validate() throws VeraPDFException {
+		GFModelParser parser = GFModelParser.createModelWithFlavour(new ByteArrayInputStream(this.source),
+				PDFAFlavour.PDFA_2_B, ModelParserConfig.defaultConfig().setPageRelease(this.pageRelease));
+		try {
+			return ValidatorFactory.createValidator(PDFAFlavour.PDFA_2_B, false, 1).validate(parser);
+		} finally {
+			parser.close();
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package org.verapdf.gf.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.verapdf.core.EncryptedPdfException;
+import org.verapdf.core.ModelParsingException;
+import org.verapdf.gf.model.GFModelParser;
+import org.verapdf.gf.model.impl.containers.ModelContext;
+import org.verapdf.gf.model.impl.containers.StaticContainers;
+import org.verapdf.gf.model.impl.pd.util.PDResourcesHandler;
+import org.verapdf.pd.PDPage;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * Base state of the benchmarks working on one parsed document. The document
+ * is either given by the {@code file} parameter or generated by
+ * {@link SyntheticDocument} with {@code pages} pages of {@code blocks} operator
+ * blocks each. The context of the document is bound to the benchmark thread.
+ *
+ * @author Sergey Shemyakov
+ */
+@State(Scope.Thread)
+public abstract class DocumentBenchmark {
+
+	@Param("")
+	public String file;
+
+	@Param("1")
+	public int pages;
+
+	@Param("100")
+	public int blocks;
+
+	protected byte[] source;
+	protected GFModelParser parser;
+
+	@Setup(Level.Trial)
+	public void loadDocument() throws IOException, ModelParsingException, EncryptedPdfException {
+		this.source = SyntheticDocument.load(this.file, this.pages, this.blocks);
+		this.parser = parse();
+	}
+
+	@TearDown(Level.Trial)
+	public void closeDocument() {
+		if (this.parser != null) {
+			this.parser.close();
+		}
+	}
+
+	/**
+	 * @return new parser of the benchmark document, bound to the current thread
+	 */
+	protected GFModelParser parse() throws ModelParsingException, EncryptedPdfException {
+		return GFModelParser.createModelWithFlavour(new ByteArrayInputStream(this.source), PDFAFlavour.PDFA_1_B);
+	}
+
+	/**
+	 * Binds a new context of the parsed document to the current thread, so
+	 * the next calls start with empty per-document caches
+	 */
+	protected void bindEmptyContext() {
+		ModelContext context = this.parser.getContext();
+		StaticContainers.setContext(new ModelContext(context.getDocument(), context.getFlavour(),
+				context.getConfig()));
+	}
+
+	protected PDPage getFirstPage() {
+		return this.parser.getPDDocument().getPages().get(0);
+	}
+
+	protected PDResourcesHandler getFirstPageResources() {
+		PDPage page = getFirstPage();
+		return PDResourcesHandler.getInstance(page.getResources(), page.isInheritedResources().booleanValue());
+	}
+}
@@ -0,0 +1,32 @@
+package org.verapdf.gf.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.verapdf.features.FeatureExtractionResult;
+import org.verapdf.features.FeatureExtractorConfig;
+import org.verapdf.features.FeatureFactory;
+import org.verapdf.features.FeatureObjectType;
+import org.verapdf.features.gf.GFFeatureParser;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extraction of all features of the parsed document.
+ *
+ * @author Sergey Shemyakov
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FeatureParserBenchmark extends DocumentBenchmark {
+
+	private static final FeatureExtractorConfig CONFIG =
+			FeatureFactory.configFromValues(EnumSet.allOf(FeatureObjectType.class));
+
+	@Benchmark
+	public FeatureExtractionResult getFeaturesCollection() {
+		return GFFeatureParser.getFeaturesCollection(this.parser.getPDDocument(), CONFIG);
+	}
+}
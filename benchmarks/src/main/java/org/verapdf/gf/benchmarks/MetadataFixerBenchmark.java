@@ -0,0 +1,60 @@
+package org.verapdf.gf.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.verapdf.core.EncryptedPdfException;
+import org.verapdf.core.ModelParsingException;
+import org.verapdf.core.VeraPDFException;
+import org.verapdf.gf.model.GFModelParser;
+import org.verapdf.metadata.fixer.gf.GFMetadataFixerImpl;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+import org.verapdf.pdfa.results.MetadataFixerResult;
+import org.verapdf.pdfa.results.ValidationResult;
+import org.verapdf.pdfa.validation.validators.ValidatorFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metadata fixing of the document. Fixing changes the document, so it is
+ * parsed anew before every invocation, while the validation result driving
+ * the fixer is computed once.
+ *
+ * @author Sergey Shemyakov
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MetadataFixerBenchmark extends DocumentBenchmark {
+
+	private ValidationResult validationResult;
+	private GFModelParser toFix;
+	private ByteArrayOutputStream output;
+
+	@Setup(Level.Trial)
+	public void validate() throws VeraPDFException {
+		this.validationResult = ValidatorFactory.createValidator(PDFAFlavour.PDFA_1_B, false, 1)
+				.validate(this.parser);
+	}
+
+	@Setup(Level.Invocation)
+	public void parseDocumentToFix() throws ModelParsingException, EncryptedPdfException {
+		this.toFix = parse();
+		this.output = new ByteArrayOutputStream(this.source.length * 2);
+	}
+
+	@TearDown(Level.Invocation)
+	public void closeDocumentToFix() {
+		this.toFix.close();
+		this.parser.bindContext();
+	}
+
+	@Benchmark
+	public MetadataFixerResult fixMetadata() {
+		return new GFMetadataFixerImpl().fixMetadata(this.toFix, this.output, this.validationResult);
+	}
+}
@@ -0,0 +1,52 @@
+package org.verapdf.gf.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.verapdf.as.io.ASInputStream;
+import org.verapdf.cos.COSObject;
+import org.verapdf.cos.COSStream;
+import org.verapdf.gf.model.factory.operators.OperatorFactory;
+import org.verapdf.gf.model.impl.pd.util.PDResourcesHandler;
+import org.verapdf.model.operator.Operator;
+import org.verapdf.parser.PDFStreamParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of the tokens of the first page content stream into veraPDF
+ * operators. Tokenization is done once, during setup.
+ *
+ * @author Sergey Shemyakov
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OperatorFactoryBenchmark extends DocumentBenchmark {
+
+	private List<Object> tokens;
+	private PDResourcesHandler resourcesHandler;
+
+	@Setup(Level.Trial)
+	public void tokenize() throws IOException {
+		COSObject contents = getFirstPage().getContent().getContents();
+		ASInputStream opStream = contents.getDirectBase().getData(COSStream.FilterFlags.DECODE);
+		PDFStreamParser streamParser = new PDFStreamParser(opStream);
+		try {
+			streamParser.parseTokens();
+			this.tokens = streamParser.getTokens();
+		} finally {
+			streamParser.closeInputStream();
+		}
+		this.resourcesHandler = getFirstPageResources();
+	}
+
+	@Benchmark
+	public List<Operator> operatorsFromTokens() {
+		return new OperatorFactory().operatorsFromTokens(this.tokens, this.resourcesHandler);
+	}
+}
@@ -0,0 +1,119 @@
+package org.verapdf.gf.benchmarks;
+
+import org.verapdf.as.ASAtom;
+import org.verapdf.gf.benchmarks.corpus.PDFWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Small PDF documents generated in memory, so benchmarks don't depend on
+ * files that can't be shared. Every page uses the same resources: a standard
+ * Type1 font and Separation, Indexed, CalRGB and Lab color spaces. Its content
+ * stream repeats a block of path, color and text operators. The document has
+ * a PDF/A-1B XMP package whose title differs from the one of the information
+ * dictionary, so metadata fixer always has something to fix.
+ *
+ * @author Sergey Shemyakov
+ */
+public final class SyntheticDocument {
+
+	/**
+	 * Names of the color spaces in page resources
+	 */
+	public static final ASAtom[] COLOR_SPACE_NAMES = {
+			ASAtom.getASAtom("CS0"), ASAtom.getASAtom("CS1"),
+			ASAtom.getASAtom("CS2"), ASAtom.getASAtom("CS3")};
+
+	/**
+	 * Number of operators in one block of the page content
+	 */
+	public static final int OPERATORS_PER_BLOCK = 23;
+
+	private static final String BLOCK = "q\n1 0 0 1 %d %d cm\n" +
+			"/CS0 cs 0.5 scn /CS1 CS 1 SCN\n" +
+			"0 0 20 20 re f\n" +
+			"/CS2 cs 0.2 0.4 0.6 sc /CS3 CS 50 10 -10 SC\n" +
+			"0 0 m 20 20 l S\n" +
+			"BT /F1 10 Tf 0 0 Td 0 Tr (Synthetic glyphs) Tj [(A) -40 (BC) 20 (D)] TJ ET\n" +
+			"Q\n";
+
+	private static final String WHITE_POINT = "/WhitePoint [0.9505 1 1.089]";
+
+	private static final String XMP = "<?xpacket begin=\"\uFEFF\" id=\"W5M0MpCehiHzreSzNTczkc9d\"?>\n" +
+			"<x:xmpmeta xmlns:x=\"adobe:ns:meta/\">\n" +
+			"<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\">\n" +
+			"<rdf:Description rdf:about=\"\" xmlns:pdfaid=\"http://www.aiim.org/pdfa/ns/id/\">\n" +
+			"<pdfaid:part>1</pdfaid:part>\n<pdfaid:conformance>B</pdfaid:conformance>\n" +
+			"</rdf:Description>\n" +
+			"<rdf:Description rdf:about=\"\" xmlns:dc=\"http://purl.org/dc/elements/1.1/\">\n" +
+			"<dc:title><rdf:Alt><rdf:li xml:lang=\"x-default\">Synthetic</rdf:li></rdf:Alt></dc:title>\n" +
+			"</rdf:Description>\n" +
+			"</rdf:RDF>\n</x:xmpmeta>\n<?xpacket end=\"w\"?>";
+
+	private SyntheticDocument() {
+		// disable default constructor
+	}
+
+	/**
+	 * @param file            path to the document, empty value selects the
+	 *                        synthetic one
+	 * @param numberOfPages   number of pages of the synthetic document
+	 * @param blocksPerPage   number of operator blocks on each page of the
+	 *                        synthetic document
+	 * @return bytes of the document
+	 * @throws IOException if the file can't be read
+	 */
+	public static byte[] load(String file, int numberOfPages, int blocksPerPage) throws IOException {
+		if (file == null || file.isEmpty()) {
+			return create(numberOfPages, blocksPerPage);
+		}
+		return Files.readAllBytes(new File(file).toPath());
+	}
+
+	/**
+	 * @param numberOfPages number of pages
+	 * @param blocksPerPage number of operator blocks on each page, every block
+	 *                      has {@link #OPERATORS_PER_BLOCK} operators
+	 * @return bytes of the generated document
+	 */
+	public static byte[] create(int numberOfPages, int blocksPerPage) {
+		PDFWriter writer = new PDFWriter();
+		int firstPage = 7;
+		StringBuilder kids = new StringBuilder();
+		for (int i = 0; i < numberOfPages; ++i) {
+			kids.append(firstPage + 2 * i).append(" 0 R ");
+		}
+		writer.object(1, "<< /Type /Catalog /Pages 2 0 R /Metadata 3 0 R >>");
+		writer.object(2, "<< /Type /Pages /Kids [" + kids + "] /Count " + numberOfPages + " >>");
+		writer.stream(3, "/Type /Metadata /Subtype /XML", XMP.getBytes(StandardCharsets.UTF_8));
+		writer.object(4, "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>");
+		writer.object(5, "[/Separation /Spot /DeviceCMYK << /FunctionType 2 /Domain [0 1] " +
+				"/C0 [0 0 0 0] /C1 [0 1 0 0] /N 1 >>]");
+		writer.object(6, "<< /Title (Benchmark) /Producer (veraPDF benchmarks) >>");
+		String resources = "<< /Font << /F1 4 0 R >> /ColorSpace << /CS0 5 0 R " +
+				"/CS1 [/Indexed /DeviceRGB 1 <000000FFFFFF>] " +
+				"/CS2 [/CalRGB << " + WHITE_POINT + " >>] " +
+				"/CS3 [/Lab << " + WHITE_POINT + " /Range [-100 100 -100 100] >>] >> >>";
+		byte[] content = createContent(blocksPerPage);
+		for (int i = 0; i < numberOfPages; ++i) {
+			int page = firstPage + 2 * i;
+			writer.object(page, "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] /Resources " +
+					resources + " /Contents " + (page + 1) + " 0 R >>");
+			writer.stream(page + 1, "", content);
+		}
+		writer.finishSection("/Root 1 0 R /Info 6 0 R /ID [<00112233445566778899AABBCCDDEEFF> " +
+				"<00112233445566778899AABBCCDDEEFF>]");
+		return writer.toByteArray();
+	}
+
+	private static byte[] createContent(int blocksPerPage) {
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < blocksPerPage; ++i) {
+			content.append(String.format(BLOCK, Integer.valueOf(i % 25 * 24), Integer.valueOf(i / 25 % 32 * 24)));
+		}
+		return content.toString().getBytes(StandardCharsets.ISO_8859_1);
+	}
+}
@@ -0,0 +1,58 @@
+package org.verapdf.gf.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.verapdf.gf.model.impl.operator.textshow.GFOpTextShow;
+import org.verapdf.gf.model.impl.pd.GFPDContentStream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extraction of used glyphs by all text show operators of the first page.
+ * With {@code warmCaches} disabled every invocation starts with empty glyph
+ * caches and font program registry.
+ *
+ * @author Sergey Shemyakov
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TextShowGlyphsBenchmark extends DocumentBenchmark {
+
+	@Param({"true", "false"})
+	public boolean warmCaches;
+
+	private List<GFOpTextShow> textShowOperators;
+
+	@Setup(Level.Trial)
+	public void collectTextShowOperators() {
+		GFPDContentStream contentStream = new GFPDContentStream(getFirstPage().getContent(), getFirstPageResources());
+		this.textShowOperators = new ArrayList<>();
+		for (Object operator : contentStream.getLinkedObjects(GFPDContentStream.OPERATORS)) {
+			if (operator instanceof GFOpTextShow) {
+				this.textShowOperators.add((GFOpTextShow) operator);
+			}
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void resetCaches() {
+		if (!this.warmCaches) {
+			bindEmptyContext();
+		}
+	}
+
+	@Benchmark
+	public void getUsedGlyphs(Blackhole blackhole) {
+		for (GFOpTextShow operator : this.textShowOperators) {
+			blackhole.consume(operator.getLinkedObjects(GFOpTextShow.USED_GLYPHS));
+		}
+	}
+}
@@ -0,0 +1,233 @@
+package org.verapdf.gf.benchmarks.corpus;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Parameters of documents generated by {@link CorpusGenerator}. The default
+ * configuration describes a one page document with a hundred operators, one
+ * font and one color space of every kind.
+ *
+ * @author Sergey Shemyakov
+ */
+public class CorpusConfig {
+
+	/**
+	 * Maximal number of glyphs of one font, all of them have single byte codes
+	 * starting from 33
+	 */
+	public static final int MAX_GLYPHS_PER_FONT = 223;
+
+	/**
+	 * Placement of form XObjects in generated documents
+	 */
+	public enum FormXObjects {
+		/** pages don't use form XObjects */
+		NONE,
+		/** all pages use the same form XObject */
+		SHARED,
+		/** every page uses its own form XObject */
+		PER_PAGE
+	}
+
+	/**
+	 * Color spaces used by page contents
+	 */
+	public enum ColorSpaceKind {
+		ICC_BASED,
+		SEPARATION,
+		DEVICE_N
+	}
+
+	/**
+	 * End of line written after the %%EOF marker of every revision
+	 */
+	public enum EndOfLine {
+		LF("\n"),
+		CR("\r"),
+		CR_LF("\r\n");
+
+		private final String value;
+
+		EndOfLine(String value) {
+			this.value = value;
+		}
+
+		public String getValue() {
+			return value;
+		}
+	}
+
+	private int pages = 1;
+	private int operatorsPerPage = 100;
+	private FormXObjects formXObjects = FormXObjects.NONE;
+	private int fonts = 1;
+	private int glyphsPerFont = 16;
+	private Set<ColorSpaceKind> colorSpaces = EnumSet.allOf(ColorSpaceKind.class);
+	private int embeddedFiles = 0;
+	private int structureDepth = 0;
+	private int signatures = 0;
+	private EndOfLine revisionEndOfLine = EndOfLine.LF;
+
+	/**
+	 * @return new configuration object with default values
+	 */
+	public static CorpusConfig defaultConfig() {
+		return new CorpusConfig();
+	}
+
+	public int getPages() {
+		return pages;
+	}
+
+	public CorpusConfig setPages(int pages) {
+		checkPositive(pages, "Number of pages");
+		this.pages = pages;
+		return this;
+	}
+
+	/**
+	 * @return minimal number of operators in the content stream of every page,
+	 * the content is completed to the end of its last group of operators
+	 */
+	public int getOperatorsPerPage() {
+		return operatorsPerPage;
+	}
+
+	public CorpusConfig setOperatorsPerPage(int operatorsPerPage) {
+		checkNotNegative(operatorsPerPage, "Number of operators per page");
+		this.operatorsPerPage = operatorsPerPage;
+		return this;
+	}
+
+	public FormXObjects getFormXObjects() {
+		return formXObjects;
+	}
+
+	public CorpusConfig setFormXObjects(FormXObjects formXObjects) {
+		if (formXObjects == null) {
+			throw new IllegalArgumentException("Form XObjects placement can not be null");
+		}
+		this.formXObjects = formXObjects;
+		return this;
+	}
+
+	/**
+	 * @return number of Type3 fonts shared by all pages
+	 */
+	public int getFonts() {
+		return fonts;
+	}
+
+	public CorpusConfig setFonts(int fonts) {
+		checkNotNegative(fonts, "Number of fonts");
+		this.fonts = fonts;
+		return this;
+	}
+
+	public int getGlyphsPerFont() {
+		return glyphsPerFont;
+	}
+
+	public CorpusConfig setGlyphsPerFont(int glyphsPerFont) {
+		checkPositive(glyphsPerFont, "Number of glyphs per font");
+		if (glyphsPerFont > MAX_GLYPHS_PER_FONT) {
+			throw new IllegalArgumentException("Number of glyphs per font should not exceed " + MAX_GLYPHS_PER_FONT);
+		}
+		this.glyphsPerFont = glyphsPerFont;
+		return this;
+	}
+
+	public Set<ColorSpaceKind> getColorSpaces() {
+		return colorSpaces;
+	}
+
+	/**
+	 * @param value comma separated list of color space kinds in any case, or
+	 *              none
+	 * @return set of color space kinds
+	 */
+	public static Set<ColorSpaceKind> parseColorSpaces(String value) {
+		Set<ColorSpaceKind> res = EnumSet.noneOf(ColorSpaceKind.class);
+		if (!"none".equalsIgnoreCase(value)) {
+			for (String kind : value.split(",")) {
+				res.add(ColorSpaceKind.valueOf(kind.trim().toUpperCase(Locale.ROOT)));
+			}
+		}
+		return res;
+	}
+
+	public CorpusConfig setColorSpaces(Set<ColorSpaceKind> colorSpaces) {
+		if (colorSpaces == null) {
+			throw new IllegalArgumentException("Set of color spaces can not be null");
+		}
+		this.colorSpaces = colorSpaces.isEmpty() ? EnumSet.noneOf(ColorSpaceKind.class) : EnumSet.copyOf(colorSpaces);
+		return this;
+	}
+
+	/**
+	 * @return number of embedded PDF files in the EmbeddedFiles name tree
+	 */
+	public int getEmbeddedFiles() {
+		return embeddedFiles;
+	}
+
+	public CorpusConfig setEmbeddedFiles(int embeddedFiles) {
+		checkNotNegative(embeddedFiles, "Number of embedded files");
+		this.embeddedFiles = embeddedFiles;
+		return this;
+	}
+
+	/**
+	 * @return number of levels of structure elements above marked contents of
+	 * pages, 0 value means that the document is not tagged
+	 */
+	public int getStructureDepth() {
+		return structureDepth;
+	}
+
+	public CorpusConfig setStructureDepth(int structureDepth) {
+		checkNotNegative(structureDepth, "Structure depth");
+		this.structureDepth = structureDepth;
+		return this;
+	}
+
+	/**
+	 * @return number of signatures, each one is added by its own incremental
+	 * update
+	 */
+	public int getSignatures() {
+		return signatures;
+	}
+
+	public CorpusConfig setSignatures(int signatures) {
+		checkNotNegative(signatures, "Number of signatures");
+		this.signatures = signatures;
+		return this;
+	}
+
+	public EndOfLine getRevisionEndOfLine() {
+		return revisionEndOfLine;
+	}
+
+	public CorpusConfig setRevisionEndOfLine(EndOfLine revisionEndOfLine) {
+		if (revisionEndOfLine == null) {
+			throw new IllegalArgumentException("End of line can not be null");
+		}
+		this.revisionEndOfLine = revisionEndOfLine;
+		return this;
+	}
+
+	private static void checkPositive(int value, String name) {
+		if (value < 1) {
+			throw new IllegalArgumentException(name + " should be positive");
+		}
+	}
+
+	private static void checkNotNegative(int value, String name) {
+		if (value < 0) {
+			throw new IllegalArgumentException(name + " should not be negative");
+		}
+	}
+}
@@ -0,0 +1,467 @@
+package org.verapdf.gf.benchmarks.corpus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Generator of PDF documents for load and regression testing. Every aspect of
+ * the document that stresses one of the subsystems of the validation model is
+ * set by {@link CorpusConfig}: number of pages and operators, form XObjects,
+ * Type3 fonts and their glyphs, ICCBased, Separation and DeviceN color spaces,
+ * embedded files, depth of the structure tree and signatures. The same
+ * configuration always produces the same bytes.
+ * <p>
+ * The document itself is written as one section. Every signature is added by
+ * its own incremental update, so signature byte ranges cover real revisions.
+ * Signature contents are placeholders, they are not valid PKCS#7 objects.
+ *
+ * @author Sergey Shemyakov
+ */
+public final class CorpusGenerator {
+
+	private static final String ID = "<00112233445566778899AABBCCDDEEFF>";
+	private static final int SIGNATURE_CONTENTS_SIZE = 2048;
+	private static final String BYTE_RANGE_PLACEHOLDER = "0 0000000000 0000000000 0000000000";
+	private static final int GLYPHS_PER_STRING = 16;
+	private static final int FIRST_CODE = 33;
+
+	private static final String XMP = "<?xpacket begin=\"\uFEFF\" id=\"W5M0MpCehiHzreSzNTczkc9d\"?>\n" +
+			"<x:xmpmeta xmlns:x=\"adobe:ns:meta/\">\n" +
+			"<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\">\n" +
+			"<rdf:Description rdf:about=\"\" xmlns:pdfaid=\"http://www.aiim.org/pdfa/ns/id/\">\n" +
+			"<pdfaid:part>2</pdfaid:part>\n<pdfaid:conformance>B</pdfaid:conformance>\n" +
+			"</rdf:Description>\n" +
+			"<rdf:Description rdf:about=\"\" xmlns:pdf=\"http://ns.adobe.com/pdf/1.3/\">\n" +
+			"<pdf:Producer>veraPDF corpus generator</pdf:Producer>\n" +
+			"</rdf:Description>\n" +
+			"</rdf:RDF>\n</x:xmpmeta>\n<?xpacket end=\"w\"?>";
+
+	private final CorpusConfig config;
+	private final PDFWriter writer = new PDFWriter();
+	private final List<CorpusConfig.ColorSpaceKind> colorSpaces;
+
+	private final int catalog;
+	private final int pagesTree;
+	private final int metadata;
+	private final int info;
+	private final int[] pages;
+
+	private CorpusGenerator(CorpusConfig config) {
+		this.config = config;
+		this.colorSpaces = new ArrayList<>(config.getColorSpaces());
+		this.catalog = this.writer.allocate();
+		this.pagesTree = this.writer.allocate();
+		this.metadata = this.writer.allocate();
+		this.info = this.writer.allocate();
+		this.pages = new int[config.getPages()];
+		for (int i = 0; i < this.pages.length; ++i) {
+			this.pages[i] = this.writer.allocate();
+		}
+	}
+
+	/**
+	 * @param config parameters of the document
+	 * @return bytes of the generated document
+	 */
+	public static byte[] generate(CorpusConfig config) {
+		if (config == null) {
+			throw new IllegalArgumentException("Corpus config can not be null");
+		}
+		return new CorpusGenerator(config).generate();
+	}
+
+	/**
+	 * Writes generated document into a file. The first argument is the path of
+	 * the file, the other ones are parameters of the document in the form
+	 * {@code name=value}: pages, operators, forms (none, shared or per_page),
+	 * fonts, glyphs, colorSpaces (comma separated list of icc_based,
+	 * separation and device_n, or none), embeddedFiles, structureDepth,
+	 * signatures and endOfLine (lf, cr or cr_lf, written after %%EOF).
+	 *
+	 * @param args path of the file followed by parameters of the document
+	 * @throws IOException if the file can't be written
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.err.println("Usage: CorpusGenerator <output file> [name=value]...");
+			return;
+		}
+		CorpusConfig config = CorpusConfig.defaultConfig();
+		for (int i = 1; i < args.length; ++i) {
+			int separator = args[i].indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Parameter should be of the form name=value: " + args[i]);
+			}
+			setParameter(config, args[i].substring(0, separator), args[i].substring(separator + 1));
+		}
+		Files.write(new File(args[0]).toPath(), generate(config));
+	}
+
+	private static void setParameter(CorpusConfig config, String name, String value) {
+		switch (name) {
+		case "pages":
+			config.setPages(Integer.parseInt(value));
+			break;
+		case "operators":
+			config.setOperatorsPerPage(Integer.parseInt(value));
+			break;
+		case "forms":
+			config.setFormXObjects(CorpusConfig.FormXObjects.valueOf(value.toUpperCase(Locale.ROOT)));
+			break;
+		case "fonts":
+			config.setFonts(Integer.parseInt(value));
+			break;
+		case "glyphs":
+			config.setGlyphsPerFont(Integer.parseInt(value));
+			break;
+		case "colorSpaces":
+			config.setColorSpaces(CorpusConfig.parseColorSpaces(value));
+			break;
+		case "embeddedFiles":
+			config.setEmbeddedFiles(Integer.parseInt(value));
+			break;
+		case "structureDepth":
+			config.setStructureDepth(Integer.parseInt(value));
+			break;
+		case "signatures":
+			config.setSignatures(Integer.parseInt(value));
+			break;
+		case "endOfLine":
+			config.setRevisionEndOfLine(CorpusConfig.EndOfLine.valueOf(value.toUpperCase(Locale.ROOT)));
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown parameter " + name);
+		}
+	}
+
+	private byte[] generate() {
+		int fontResources = writeFonts();
+		int colorSpaceResources = writeColorSpaces();
+		String formResources = "<< /Font " + fontResources + " 0 R /ColorSpace " + colorSpaceResources + " 0 R >>";
+		int sharedForm = -1;
+		if (this.config.getFormXObjects() == CorpusConfig.FormXObjects.SHARED) {
+			sharedForm = writeForm(formResources);
+		}
+		StringBuilder kids = new StringBuilder();
+		for (int i = 0; i < this.pages.length; ++i) {
+			int form = this.config.getFormXObjects() == CorpusConfig.FormXObjects.PER_PAGE ?
+					writeForm(formResources) : sharedForm;
+			writePage(i, fontResources, colorSpaceResources, form);
+			kids.append(this.pages[i]).append(" 0 R ");
+		}
+		this.writer.object(this.pagesTree, "<< /Type /Pages /Kids [" + kids + "] /Count " + this.pages.length + " >>");
+		this.writer.stream(this.metadata, "/Type /Metadata /Subtype /XML", XMP.getBytes(StandardCharsets.UTF_8));
+		this.writer.object(this.info, "<< /Producer (veraPDF corpus generator) >>");
+
+		StringBuilder catalogEntries = new StringBuilder("/Type /Catalog /Pages ").append(this.pagesTree)
+				.append(" 0 R /Metadata ").append(this.metadata).append(" 0 R");
+		if (this.config.getStructureDepth() > 0) {
+			catalogEntries.append(" /MarkInfo << /Marked true >> /StructTreeRoot ")
+					.append(writeStructureTree()).append(" 0 R");
+		}
+		if (this.config.getEmbeddedFiles() > 0) {
+			writeEmbeddedFiles(catalogEntries);
+		}
+		this.writer.object(this.catalog, "<< " + catalogEntries + " >>");
+		finishSection();
+
+		StringBuilder fields = new StringBuilder();
+		for (int i = 0; i < this.config.getSignatures(); ++i) {
+			addSignature(i, catalogEntries, fields);
+		}
+		return this.writer.toByteArray();
+	}
+
+	private void finishSection() {
+		this.writer.finishSection("/Root " + this.catalog + " 0 R /Info " + this.info + " 0 R /ID [" + ID + ' ' +
+				ID + ']', this.config.getRevisionEndOfLine().getValue());
+	}
+
+	private int writeFonts() {
+		StringBuilder resources = new StringBuilder("<< ");
+		int glyphs = this.config.getGlyphsPerFont();
+		for (int font = 0; font < this.config.getFonts(); ++font) {
+			StringBuilder charProcs = new StringBuilder();
+			StringBuilder differences = new StringBuilder();
+			StringBuilder widths = new StringBuilder();
+			for (int glyph = 0; glyph < glyphs; ++glyph) {
+				int charProc = this.writer.allocate();
+				String procedure = "750 0 0 0 750 750 d1\n0 0 " + (100 + glyph * 650 / glyphs) + " 750 re f";
+				this.writer.stream(charProc, "", procedure.getBytes(StandardCharsets.ISO_8859_1));
+				charProcs.append("/g").append(glyph).append(' ').append(charProc).append(" 0 R ");
+				differences.append(" /g").append(glyph);
+				widths.append(" 750");
+			}
+			int number = this.writer.allocate();
+			this.writer.object(number, "<< /Type /Font /Subtype /Type3 /FontBBox [0 0 750 750] " +
+					"/FontMatrix [0.001 0 0 0.001 0 0] /CharProcs << " + charProcs + ">> " +
+					"/Encoding << /Type /Encoding /Differences [" + FIRST_CODE + differences + "] >> " +
+					"/FirstChar " + FIRST_CODE + " /LastChar " + (FIRST_CODE + glyphs - 1) +
+					" /Widths [" + widths + " ] /Resources << >> >>");
+			resources.append("/F").append(font).append(' ').append(number).append(" 0 R ");
+		}
+		int number = this.writer.allocate();
+		this.writer.object(number, resources.append(">>").toString());
+		return number;
+	}
+
+	private int writeColorSpaces() {
+		StringBuilder resources = new StringBuilder("<< ");
+		for (int i = 0; i < this.colorSpaces.size(); ++i) {
+			resources.append("/CS").append(i).append(' ');
+			switch (this.colorSpaces.get(i)) {
+			case ICC_BASED:
+				int profile = this.writer.allocate();
+				this.writer.stream(profile, "/N 3", createICCProfile());
+				resources.append("[/ICCBased ").append(profile).append(" 0 R]");
+				break;
+			case SEPARATION:
+				resources.append("[/Separation /Spot0 /DeviceCMYK << /FunctionType 2 /Domain [0 1] " +
+						"/C0 [0 0 0 0] /C1 [0 1 0 0] /N 1 >>]");
+				break;
+			case DEVICE_N:
+				int function = this.writer.allocate();
+				this.writer.stream(function, "/FunctionType 4 /Domain [0 1 0 1] /Range [0 1 0 1 0 1 0 1]",
+						"{ 0 3 1 roll 0 }".getBytes(StandardCharsets.ISO_8859_1));
+				resources.append("[/DeviceN [/Spot1 /Spot2] /DeviceCMYK ").append(function).append(" 0 R]");
+				break;
+			default:
+				throw new IllegalStateException("Unknown color space kind");
+			}
+			resources.append(' ');
+		}
+		int number = this.writer.allocate();
+		this.writer.object(number, resources.append(">>").toString());
+		return number;
+	}
+
+	/**
+	 * @return RGB display profile consisting of the header and an empty tag table
+	 */
+	private static byte[] createICCProfile() {
+		byte[] profile = new byte[132];
+		putInt(profile, 0, profile.length);
+		putInt(profile, 8, 0x02100000);
+		putSignature(profile, 12, "mntr");
+		putSignature(profile, 16, "RGB ");
+		putSignature(profile, 20, "XYZ ");
+		putSignature(profile, 36, "acsp");
+		// D50 illuminant
+		putInt(profile, 68, 0x0000F6D6);
+		putInt(profile, 72, 0x00010000);
+		putInt(profile, 76, 0x0000D32D);
+		return profile;
+	}
+
+	private static void putInt(byte[] data, int offset, int value) {
+		data[offset] = (byte) (value >>> 24);
+		data[offset + 1] = (byte) (value >>> 16);
+		data[offset + 2] = (byte) (value >>> 8);
+		data[offset + 3] = (byte) value;
+	}
+
+	private static void putSignature(byte[] data, int offset, String signature) {
+		byte[] bytes = signature.getBytes(StandardCharsets.US_ASCII);
+		System.arraycopy(bytes, 0, data, offset, bytes.length);
+	}
+
+	private int writeForm(String resources) {
+		int number = this.writer.allocate();
+		StringBuilder content = new StringBuilder("q\n0 0 50 50 re f\n");
+		if (this.config.getFonts() > 0) {
+			content.append("BT /F0 10 Tf 5 20 Td ").append(getGlyphString(0)).append(" Tj ET\n");
+		}
+		content.append("Q");
+		this.writer.stream(number, "/Type /XObject /Subtype /Form /BBox [0 0 50 50] /Resources " + resources,
+				content.toString().getBytes(StandardCharsets.ISO_8859_1));
+		return number;
+	}
+
+	private void writePage(int index, int fontResources, int colorSpaceResources, int form) {
+		StringBuilder resources = new StringBuilder("<< /Font ").append(fontResources)
+				.append(" 0 R /ColorSpace ").append(colorSpaceResources).append(" 0 R");
+		if (form >= 0) {
+			resources.append(" /XObject << /Fm0 ").append(form).append(" 0 R >>");
+		}
+		resources.append(" >>");
+		int content = this.writer.allocate();
+		this.writer.stream(content, "", createContent(index, form >= 0));
+		StringBuilder page = new StringBuilder("<< /Type /Page /Parent ").append(this.pagesTree)
+				.append(" 0 R /MediaBox [0 0 612 792] /Resources ").append(resources)
+				.append(" /Contents ").append(content).append(" 0 R");
+		if (this.config.getStructureDepth() > 0) {
+			page.append(" /StructParents ").append(index);
+		}
+		this.writer.object(this.pages[index], page.append(" >>").toString());
+	}
+
+	/**
+	 * Page content consists of groups of operators: a filled rectangle, a
+	 * rectangle in every color space, a string in every font and a form
+	 * XObject. Groups are repeated until the content has enough operators.
+	 */
+	private byte[] createContent(int page, boolean hasForm) {
+		StringBuilder content = new StringBuilder();
+		int operators = 0;
+		boolean isTagged = this.config.getStructureDepth() > 0;
+		if (isTagged) {
+			content.append("/P << /MCID 0 >> BDC\n");
+			operators += 2;
+		}
+		int fonts = this.config.getFonts();
+		int groups = 1 + this.colorSpaces.size() + fonts + (hasForm ? 1 : 0);
+		for (int i = 0; operators < this.config.getOperatorsPerPage(); ++i) {
+			int group = i % groups;
+			int x = 20 + i % 25 * 22;
+			int y = 20 + i / 25 % 34 * 22;
+			if (group == 0) {
+				content.append(x).append(' ').append(y).append(" 20 20 re f\n");
+				operators += 2;
+			} else if (group <= this.colorSpaces.size()) {
+				content.append("q /CS").append(group - 1).append(" cs ")
+						.append(getColorComponents(this.colorSpaces.get(group - 1))).append(" scn ")
+						.append(x).append(' ').append(y).append(" 20 20 re f Q\n");
+				operators += 6;
+			} else if (group <= this.colorSpaces.size() + fonts) {
+				content.append("BT /F").append(group - this.colorSpaces.size() - 1).append(" 12 Tf ")
+						.append(x).append(' ').append(y).append(" Td ").append(getGlyphString(page + i))
+						.append(" Tj ET\n");
+				operators += 5;
+			} else {
+				content.append("q 1 0 0 1 ").append(x).append(' ').append(y).append(" cm /Fm0 Do Q\n");
+				operators += 4;
+			}
+		}
+		if (isTagged) {
+			content.append("EMC\n");
+		}
+		return content.toString().getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+	private static String getColorComponents(CorpusConfig.ColorSpaceKind kind) {
+		switch (kind) {
+		case ICC_BASED:
+			return "0.1 0.2 0.3";
+		case SEPARATION:
+			return "0.5";
+		default:
+			return "0.3 0.7";
+		}
+	}
+
+	/**
+	 * @param shift index of the first glyph divided by the string length
+	 * @return hex string of consecutive glyph codes, all glyphs of a font are
+	 * used by strings of consecutive shifts
+	 */
+	private String getGlyphString(int shift) {
+		int glyphs = this.config.getGlyphsPerFont();
+		int length = Math.min(GLYPHS_PER_STRING, glyphs);
+		StringBuilder res = new StringBuilder("<");
+		for (int i = 0; i < length; ++i) {
+			res.append(String.format("%02X", Integer.valueOf(FIRST_CODE + (shift * length + i) % glyphs)));
+		}
+		return res.append('>').toString();
+	}
+
+	/**
+	 * Writes a chain of grouping structure elements with one paragraph for
+	 * every page at its end
+	 *
+	 * @return number of the structure tree root
+	 */
+	private int writeStructureTree() {
+		int root = this.writer.allocate();
+		int depth = this.config.getStructureDepth();
+		int[] groups = new int[depth - 1];
+		for (int i = 0; i < groups.length; ++i) {
+			groups[i] = this.writer.allocate();
+		}
+		int[] leaves = new int[this.pages.length];
+		StringBuilder leafReferences = new StringBuilder("[");
+		StringBuilder parentTree = new StringBuilder();
+		for (int i = 0; i < leaves.length; ++i) {
+			leaves[i] = this.writer.allocate();
+			leafReferences.append(leaves[i]).append(" 0 R ");
+			parentTree.append(i).append(" [").append(leaves[i]).append(" 0 R] ");
+		}
+		leafReferences.append(']');
+		int leafParent = groups.length == 0 ? root : groups[groups.length - 1];
+		for (int i = 0; i < leaves.length; ++i) {
+			this.writer.object(leaves[i], "<< /Type /StructElem /S /P /P " + leafParent + " 0 R /Pg " +
+					this.pages[i] + " 0 R /K 0 >>");
+		}
+		for (int i = 0; i < groups.length; ++i) {
+			String kids = i == groups.length - 1 ? leafReferences.toString() : groups[i + 1] + " 0 R";
+			String parent = i == 0 ? String.valueOf(root) : String.valueOf(groups[i - 1]);
+			this.writer.object(groups[i], "<< /Type /StructElem /S /" + (i == 0 ? "Document" : "Sect") +
+					" /P " + parent + " 0 R /K " + kids + " >>");
+		}
+		String rootKids = groups.length == 0 ? leafReferences.toString() : groups[0] + " 0 R";
+		this.writer.object(root, "<< /Type /StructTreeRoot /K " + rootKids + " /ParentTree << /Nums [" +
+				parentTree + "] >> /ParentTreeNextKey " + leaves.length + " >>");
+		return root;
+	}
+
+	/**
+	 * Writes embedded PDF files generated with the default configuration and
+	 * adds their name tree and associated files array to the catalog entries
+	 */
+	private void writeEmbeddedFiles(StringBuilder catalogEntries) {
+		byte[] data = generate(CorpusConfig.defaultConfig());
+		StringBuilder names = new StringBuilder();
+		StringBuilder associatedFiles = new StringBuilder();
+		for (int i = 0; i < this.config.getEmbeddedFiles(); ++i) {
+			String name = String.format("(file%06d.pdf)", Integer.valueOf(i));
+			int stream = this.writer.allocate();
+			this.writer.stream(stream, "/Type /EmbeddedFile /Subtype /application#2Fpdf /Params << /Size " +
+					data.length + " >>", data);
+			int fileSpecification = this.writer.allocate();
+			this.writer.object(fileSpecification, "<< /Type /Filespec /F " + name + " /UF " + name +
+					" /AFRelationship /Data /EF << /F " + stream + " 0 R /UF " + stream + " 0 R >> >>");
+			names.append(name).append(' ').append(fileSpecification).append(" 0 R ");
+			associatedFiles.append(fileSpecification).append(" 0 R ");
+		}
+		catalogEntries.append(" /Names << /EmbeddedFiles << /Names [").append(names).append("] >> >> /AF [")
+				.append(associatedFiles).append(']');
+	}
+
+	/**
+	 * Appends an incremental update with a new signature field and fills its
+	 * byte range once the update is written. The build properties of the
+	 * signature precede its Contents hex string and have a Contents
+	 * dictionary of their own, so searches for the signature value have to
+	 * skip it.
+	 */
+	private void addSignature(int index, CharSequence catalogEntries, StringBuilder fields) {
+		int signature = this.writer.allocate();
+		int field = this.writer.allocate();
+		StringBuilder contents = new StringBuilder(2 * SIGNATURE_CONTENTS_SIZE);
+		for (int i = 0; i < 2 * SIGNATURE_CONTENTS_SIZE; ++i) {
+			contents.append('0');
+		}
+		String value = "<< /Type /Sig /Filter /Adobe.PPKLite /SubFilter /adbe.pkcs7.detached /Name (Signer " +
+				index + ") /M (D:20170101000000Z) /Prop_Build << /App << /Name /veraPDF#20corpus#20generator " +
+				"/Contents << /Index " + index + " >> >> >> /ByteRange [" + BYTE_RANGE_PLACEHOLDER + "] /Contents <" +
+				contents + "> >>";
+		int valueOffset = this.writer.object(signature, value);
+		this.writer.object(field, "<< /Type /Annot /Subtype /Widget /FT /Sig /T (Signature" + index + ") /V " +
+				signature + " 0 R /Rect [0 0 0 0] /F 132 /P " + this.pages[0] + " 0 R >>");
+		fields.append(field).append(" 0 R ");
+		this.writer.object(this.catalog, "<< " + catalogEntries + " /AcroForm << /Fields [" + fields +
+				"] /SigFlags 3 >> >>");
+		finishSection();
+
+		int contentsStart = valueOffset + value.lastIndexOf("/Contents <") + "/Contents ".length();
+		int contentsEnd = contentsStart + contents.length() + 2;
+		int revisionEnd = this.writer.getOffset();
+		this.writer.patch(valueOffset + value.indexOf(BYTE_RANGE_PLACEHOLDER), String.format("0 %010d %010d %010d",
+				Integer.valueOf(contentsStart), Integer.valueOf(contentsEnd),
+				Integer.valueOf(revisionEnd - contentsEnd)));
+	}
+}
@@ -0,0 +1,164 @@
+package org.verapdf.gf.benchmarks.corpus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writer of PDF files made of numbered objects. Objects are grouped into
+ * sections, each one is closed by its cross reference table and trailer, so
+ * every section after the first one is an incremental update of the file.
+ *
+ * @author Sergey Shemyakov
+ */
+public final class PDFWriter {
+
+	private static final byte[] HEADER = "%PDF-1.7\n%\u00E2\u00E3\u00CF\u00D3\n".getBytes(StandardCharsets.ISO_8859_1);
+
+	private byte[] out = new byte[64 * 1024];
+	private int length = 0;
+
+	private final Map<Integer, Integer> sectionOffsets = new TreeMap<>();
+	private int lastObjectNumber = 0;
+	private int previousXRef = -1;
+
+	public PDFWriter() {
+		write(HEADER);
+	}
+
+	/**
+	 * @return number of a new object
+	 */
+	public int allocate() {
+		return ++this.lastObjectNumber;
+	}
+
+	/**
+	 * @return offset of the next written byte
+	 */
+	public int getOffset() {
+		return this.length;
+	}
+
+	/**
+	 * Writes an object into the current section
+	 *
+	 * @param number number of the object
+	 * @param value  value of the object
+	 * @return offset of the value
+	 */
+	public int object(int number, String value) {
+		begin(number);
+		int res = this.length;
+		write(value);
+		write("\nendobj\n");
+		return res;
+	}
+
+	/**
+	 * Writes a stream into the current section
+	 *
+	 * @param number     number of the object
+	 * @param dictionary entries of the stream dictionary except Length
+	 * @param data       unfiltered stream data
+	 */
+	public void stream(int number, String dictionary, byte[] data) {
+		begin(number);
+		write("<< " + dictionary + " /Length " + data.length + " >>\nstream\n");
+		write(data);
+		write("\nendstream\nendobj\n");
+	}
+
+	/**
+	 * Writes the cross reference table and the trailer of the current section
+	 * and starts a new section
+	 *
+	 * @param trailer entries of the trailer except Size and Prev
+	 */
+	public void finishSection(String trailer) {
+		finishSection(trailer, "\n");
+	}
+
+	/**
+	 * Writes the cross reference table and the trailer of the current section
+	 * and starts a new section
+	 *
+	 * @param trailer   entries of the trailer except Size and Prev
+	 * @param endOfLine end of line following the %%EOF marker
+	 */
+	public void finishSection(String trailer, String endOfLine) {
+		int xref = this.length;
+		StringBuilder table = new StringBuilder("xref\n");
+		if (this.previousXRef < 0) {
+			table.append("0 1\n0000000000 65535 f \n");
+		}
+		int first = -1;
+		StringBuilder entries = new StringBuilder();
+		int next = -1;
+		for (Map.Entry<Integer, Integer> entry : this.sectionOffsets.entrySet()) {
+			int number = entry.getKey().intValue();
+			if (number != next) {
+				appendSubsection(table, first, next, entries);
+				first = number;
+			}
+			entries.append(String.format("%010d 00000 n \n", entry.getValue()));
+			next = number + 1;
+		}
+		appendSubsection(table, first, next, entries);
+		table.append("trailer\n<< /Size ").append(this.lastObjectNumber + 1);
+		if (this.previousXRef >= 0) {
+			table.append(" /Prev ").append(this.previousXRef);
+		}
+		table.append(' ').append(trailer).append(" >>\nstartxref\n").append(xref).append("\n%%EOF").append(endOfLine);
+		write(table.toString());
+		this.sectionOffsets.clear();
+		this.previousXRef = xref;
+	}
+
+	/**
+	 * Overwrites already written bytes
+	 *
+	 * @param offset offset of the first byte to overwrite
+	 * @param text   new value of the bytes
+	 */
+	public void patch(int offset, String text) {
+		byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+		if (offset < 0 || offset + bytes.length > this.length) {
+			throw new IllegalArgumentException("Patch is out of the written data");
+		}
+		System.arraycopy(bytes, 0, this.out, offset, bytes.length);
+	}
+
+	/**
+	 * @return bytes of the written file
+	 */
+	public byte[] toByteArray() {
+		return Arrays.copyOf(this.out, this.length);
+	}
+
+	private static void appendSubsection(StringBuilder table, int first, int next, StringBuilder entries) {
+		if (first >= 0) {
+			table.append(first).append(' ').append(next - first).append('\n').append(entries);
+			entries.setLength(0);
+		}
+	}
+
+	private void begin(int number) {
+		this.lastObjectNumber = Math.max(this.lastObjectNumber, number);
+		this.sectionOffsets.put(Integer.valueOf(number), Integer.valueOf(this.length));
+		write(number + " 0 obj\n");
+	}
+
+	private void write(String text) {
+		write(text.getBytes(StandardCharsets.ISO_8859_1));
+	}
+
+	private void write(byte[] bytes) {
+		if (this.length + bytes.length > this.out.length) {
+			this.out = Arrays.copyOf(this.out, Math.max(this.out.length * 2, this.length + bytes.length));
+		}
+		System.arraycopy(bytes, 0, this.out, this.length, bytes.length);
+		this.length += bytes.length;
+	}
+}
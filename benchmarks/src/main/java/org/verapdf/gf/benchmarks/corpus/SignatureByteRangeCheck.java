@@ -0,0 +1,116 @@
+package org.verapdf.gf.benchmarks.corpus;
+
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSKey;
+import org.verapdf.cos.COSObject;
+import org.verapdf.gf.model.impl.pd.signature.SignatureOffsetIndex;
+import org.verapdf.io.SeekableInputStream;
+import org.verapdf.parser.SignatureParser;
+import org.verapdf.pd.PDDocument;
+import org.verapdf.pd.PDSignature;
+import org.verapdf.pd.form.PDAcroForm;
+import org.verapdf.pd.form.PDFormField;
+import org.verapdf.pd.form.PDSignatureField;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Compares byte ranges of signatures computed by {@link SignatureOffsetIndex}
+ * with the ones computed by {@link SignatureParser} of the parser library and
+ * with the byte ranges written by {@link CorpusGenerator}. Documents with
+ * several signatures are generated for every end of line after %%EOF, their
+ * signature dictionaries contain Contents dictionaries before the Contents
+ * hex strings.
+ *
+ * @author Sergey Shemyakov
+ */
+public final class SignatureByteRangeCheck {
+
+	private static final int DEFAULT_SIGNATURES = 5;
+
+	private SignatureByteRangeCheck() {
+	}
+
+	/**
+	 * Runs the check and exits with non-zero status if any byte range differs.
+	 * The only optional argument is the number of signatures in every
+	 * generated document.
+	 *
+	 * @param args optional number of signatures
+	 * @throws IOException if a generated document can't be parsed
+	 */
+	public static void main(String[] args) throws IOException {
+		int signatures = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIGNATURES;
+		int mismatches = 0;
+		for (CorpusConfig.EndOfLine endOfLine : CorpusConfig.EndOfLine.values()) {
+			mismatches += check(CorpusConfig.defaultConfig().setSignatures(signatures)
+					.setRevisionEndOfLine(endOfLine), endOfLine.name());
+		}
+		if (mismatches > 0) {
+			System.err.println(mismatches + " byte ranges differ");
+			System.exit(1);
+		}
+		System.out.println("All byte ranges match");
+	}
+
+	/**
+	 * @param config configuration of the generated document
+	 * @param name   name of the document in the report
+	 * @return number of signatures whose byte ranges differ
+	 * @throws IOException if the document can't be parsed
+	 */
+	public static int check(CorpusConfig config, String name) throws IOException {
+		PDDocument document = new PDDocument(new ByteArrayInputStream(CorpusGenerator.generate(config)));
+		try {
+			PDAcroForm acroForm = document.getAcroForm();
+			if (acroForm == null) {
+				return 0;
+			}
+			SeekableInputStream source = document.getPDFSource();
+			SignatureOffsetIndex index = new SignatureOffsetIndex(source,
+					document.getDocument().getHeader().getHeaderOffset());
+			int mismatches = 0;
+			for (PDFormField field : acroForm.getFields()) {
+				if (field.getFT() != ASAtom.SIG) {
+					continue;
+				}
+				PDSignatureField signatureField = (PDSignatureField) field;
+				PDSignature signature = signatureField.getSignature();
+				COSObject reference = signatureField.getSignatureReference();
+				COSKey key = reference == null ? null : reference.getObjectKey();
+				if (signature == null || key == null) {
+					continue;
+				}
+				long offset = document.getDocument().getOffset(key).longValue();
+				long[] written = toLongs(signature.getByteRange());
+				long[] fromIndex = index.getByteRange(offset);
+				long sourceOffset = source.getOffset();
+				long[] fromLibrary = new SignatureParser(source, document.getDocument())
+						.getByteRangeBySignatureOffset(offset);
+				source.seek(sourceOffset);
+				if (!Arrays.equals(written, fromIndex) || !Arrays.equals(written, fromLibrary)) {
+					++mismatches;
+					System.err.println(name + ", signature " + key.getNumber() + ": written " +
+							Arrays.toString(written) + ", index " + Arrays.toString(fromIndex) +
+							", library " + Arrays.toString(fromLibrary));
+				}
+			}
+			return mismatches;
+		} finally {
+			document.close();
+		}
+	}
+
+	private static long[] toLongs(int[] values) {
+		if (values == null) {
+			return null;
+		}
+		long[] res = new long[values.length];
+		for (int i = 0; i < values.length; ++i) {
+			res[i] = values[i];
+		}
+		return res;
+	}
+}
@@ -0,0 +1,379 @@
+package org.verapdf.gf.daemon;
+
+import org.verapdf.gf.model.ModelParserConfig;
+import org.verapdf.gf.model.impl.external.EmbeddedFileVerdictCache;
+import org.verapdf.pdfa.VeraGreenfieldFoundryProvider;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Resident validation service. The daemon listens on a port of the loopback
+ * interface and validates local files named by its clients, one request line
+ * per document as described in {@link ValidationJob}. Besides validation
+ * requests a client may send {@code PING}, answered by {@code PONG}, and
+ * {@code SHUTDOWN}, which stops the daemon once the running jobs are done.
+ * <p>
+ * The first line of every connection has to be {@code AUTH} followed by a
+ * space and the shared secret of the daemon, which is kept in a file readable
+ * only by its owner, see {@link #readSecret(File)}. The daemon answers it by
+ * {@code READY}, other connections get {@code DENIED} and are closed without
+ * processing any request. A connection that sends no request
+ * for the idle timeout is closed, so idle clients don't hold the threads of
+ * the daemon.
+ * <p>
+ * Every document is parsed by its own {@link org.verapdf.gf.model.GFModelParser},
+ * so its state is isolated in its model context and released after the
+ * reply. Compiled code and the static data of the parser, like standard font
+ * metrics, predefined CMaps and standard structure types, are shared by all
+ * documents and are warmed up by {@link #warmUp(List, int)} before the first
+ * request, as are verdicts of embedded files cached for the process.
+ * Connections are served in parallel by a fixed number of threads, requests of
+ * one connection are processed in order.
+ *
+ * @author Sergey Shemyakov
+ */
+public class ValidationDaemon implements Closeable {
+
+	private static final Logger LOGGER = Logger.getLogger(ValidationDaemon.class.getCanonicalName());
+
+	/**
+	 * Default port of the daemon
+	 */
+	public static final int DEFAULT_PORT = 9071;
+
+	/**
+	 * Default number of validations of every warm up document
+	 */
+	public static final int DEFAULT_WARMUP_ITERATIONS = 20;
+
+	/**
+	 * Default time in milliseconds a connection may stay without requests
+	 */
+	public static final int DEFAULT_IDLE_TIMEOUT = 30000;
+
+	/**
+	 * Default file holding the shared secret of the daemon
+	 */
+	public static final String DEFAULT_SECRET_FILE = System.getProperty("user.home") + File.separator +
+			".verapdf" + File.separator + "daemon.secret";
+
+	private static final String WARMUP_DOCUMENT = "/org/verapdf/gf/daemon/warmup.pdf";
+	private static final PDFAFlavour[] WARMUP_FLAVOURS = {PDFAFlavour.PDFA_1_B, PDFAFlavour.PDFA_2_B};
+
+	private static final String PING = "PING";
+	private static final String SHUTDOWN = "SHUTDOWN";
+	private static final String AUTH = "AUTH ";
+
+	private static final int SECRET_LENGTH = 32;
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+	private static final Set<PosixFilePermission> OWNER_ONLY =
+			EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE);
+
+	private final ModelParserConfig config;
+	private final byte[] secret;
+	private final int idleTimeout;
+	private final ServerSocket serverSocket;
+	private final ExecutorService workers;
+
+	/**
+	 * @param port        port on the loopback interface, zero value selects
+	 *                    any free port
+	 * @param threads     number of connections served in parallel
+	 * @param idleTimeout time in milliseconds a connection may stay without
+	 *                    requests
+	 * @param secret      shared secret clients have to authenticate with
+	 * @param config      configuration of the model parsers of all documents
+	 * @throws IOException if the port can't be bound
+	 */
+	public ValidationDaemon(int port, int threads, int idleTimeout, String secret, ModelParserConfig config)
+			throws IOException {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Number of threads should be positive");
+		}
+		if (idleTimeout < 1) {
+			throw new IllegalArgumentException("Idle timeout should be positive");
+		}
+		if (secret == null || secret.isEmpty()) {
+			throw new IllegalArgumentException("Shared secret should not be empty");
+		}
+		VeraGreenfieldFoundryProvider.initialise();
+		this.config = config;
+		this.secret = secret.getBytes(StandardCharsets.UTF_8);
+		this.idleTimeout = idleTimeout;
+		this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+		this.workers = Executors.newFixedThreadPool(threads);
+	}
+
+	/**
+	 * @return port the daemon listens on
+	 */
+	public int getPort() {
+		return this.serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Validates the built-in warm up document and given documents several
+	 * times, so that the code and the static data used by validation are
+	 * loaded and compiled before the first request
+	 *
+	 * @param documents  additional documents typical for the expected requests
+	 * @param iterations number of validations of every document
+	 * @throws IOException if the built-in document can't be read
+	 */
+	public void warmUp(List<File> documents, int iterations) throws IOException {
+		byte[] warmupDocument = readWarmupDocument();
+		for (int i = 0; i < iterations; ++i) {
+			for (PDFAFlavour flavour : WARMUP_FLAVOURS) {
+				new ValidationJob(WARMUP_DOCUMENT, flavour).validate(new ByteArrayInputStream(warmupDocument),
+						this.config);
+			}
+			for (File document : documents) {
+				new ValidationJob(document.getPath(), PDFAFlavour.NO_FLAVOUR).run(this.config);
+			}
+		}
+	}
+
+	/**
+	 * Accepts connections until the daemon is closed
+	 *
+	 * @throws IOException if accepting of a connection fails
+	 */
+	public void serve() throws IOException {
+		try {
+			while (!this.serverSocket.isClosed()) {
+				Socket socket = this.serverSocket.accept();
+				try {
+					this.workers.execute(new Connection(socket));
+				} catch (RejectedExecutionException e) {
+					socket.close();
+				}
+			}
+		} catch (SocketException e) {
+			if (!this.serverSocket.isClosed()) {
+				throw e;
+			}
+		} finally {
+			close();
+		}
+	}
+
+	/**
+	 * Stops accepting connections, jobs that are already running are finished
+	 */
+	@Override
+	public void close() throws IOException {
+		this.workers.shutdown();
+		this.serverSocket.close();
+	}
+
+	/**
+	 * Reads the shared secret of the daemon. If the file doesn't exist it is
+	 * created with a random secret and permissions of its owner only.
+	 *
+	 * @param file file holding the secret
+	 * @return shared secret
+	 * @throws IOException if the file can't be read or created, or if it is
+	 * accessible by other users
+	 */
+	public static String readSecret(File file) throws IOException {
+		Path path = file.toPath();
+		if (!Files.exists(path)) {
+			createSecret(path);
+		}
+		try {
+			if (!OWNER_ONLY.containsAll(Files.getPosixFilePermissions(path))) {
+				throw new IOException("Secret file " + file + " should be accessible by its owner only");
+			}
+		} catch (UnsupportedOperationException e) {
+			LOGGER.log(Level.WARNING, "Can't check permissions of the secret file " + file, e);
+		}
+		String res = new String(Files.readAllBytes(path), StandardCharsets.UTF_8).trim();
+		if (res.isEmpty()) {
+			throw new IOException("Secret file " + file + " is empty");
+		}
+		return res;
+	}
+
+	private static void createSecret(Path path) throws IOException {
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		byte[] random = new byte[SECRET_LENGTH];
+		new SecureRandom().nextBytes(random);
+		char[] text = new char[random.length * 2];
+		for (int i = 0; i < random.length; ++i) {
+			text[2 * i] = HEX_DIGITS[(random[i] >> 4) & 0xF];
+			text[2 * i + 1] = HEX_DIGITS[random[i] & 0xF];
+		}
+		try {
+			Files.createFile(path, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+		} catch (UnsupportedOperationException e) {
+			Files.createFile(path);
+		}
+		Files.write(path, new String(text).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private boolean isAuthenticated(String line) {
+		if (line == null || !line.startsWith(AUTH)) {
+			return false;
+		}
+		byte[] given = line.substring(AUTH.length()).trim().getBytes(StandardCharsets.UTF_8);
+		return MessageDigest.isEqual(given, this.secret);
+	}
+
+	private static byte[] readWarmupDocument() throws IOException {
+		try (InputStream stream = ValidationDaemon.class.getResourceAsStream(WARMUP_DOCUMENT)) {
+			if (stream == null) {
+				throw new IOException("Warm up document " + WARMUP_DOCUMENT + " is not found");
+			}
+			ByteArrayOutputStream res = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read = stream.read(buffer);
+			while (read > 0) {
+				res.write(buffer, 0, read);
+				read = stream.read(buffer);
+			}
+			return res.toByteArray();
+		}
+	}
+
+	/**
+	 * Starts the daemon
+	 *
+	 * @param args parameters of the form name=value: port, threads,
+	 *             idleTimeout, secretFile, warmupIterations, warmup (comma
+	 *             separated paths of warm up documents), memoryBudget,
+	 *             pageRelease and streamingContentParsing
+	 * @throws IOException if the daemon can't be started
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = DEFAULT_PORT;
+		int threads = Runtime.getRuntime().availableProcessors();
+		int idleTimeout = DEFAULT_IDLE_TIMEOUT;
+		File secretFile = new File(DEFAULT_SECRET_FILE);
+		int warmupIterations = DEFAULT_WARMUP_ITERATIONS;
+		List<File> warmupDocuments = new ArrayList<>();
+		ModelParserConfig config = ModelParserConfig.defaultConfig()
+				.setEmbeddedFileVerdictCache(EmbeddedFileVerdictCache.getSharedInstance());
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Parameter should be of the form name=value: " + arg);
+			}
+			String name = arg.substring(0, separator);
+			String value = arg.substring(separator + 1);
+			switch (name) {
+			case "port":
+				port = Integer.parseInt(value);
+				break;
+			case "threads":
+				threads = Integer.parseInt(value);
+				break;
+			case "idleTimeout":
+				idleTimeout = Integer.parseInt(value);
+				break;
+			case "secretFile":
+				secretFile = new File(value);
+				break;
+			case "warmupIterations":
+				warmupIterations = Integer.parseInt(value);
+				break;
+			case "warmup":
+				for (String path : value.split(",")) {
+					warmupDocuments.add(new File(path.trim()));
+				}
+				break;
+			case "memoryBudget":
+				config.setMemoryBudget(Long.parseLong(value));
+				break;
+			case "pageRelease":
+				config.setPageRelease(Boolean.parseBoolean(value));
+				break;
+			case "streamingContentParsing":
+				config.setStreamingContentParsing(Boolean.parseBoolean(value));
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown parameter " + name);
+			}
+		}
+		ValidationDaemon daemon = new ValidationDaemon(port, threads, idleTimeout, readSecret(secretFile), config);
+		daemon.warmUp(warmupDocuments, warmupIterations);
+		LOGGER.log(Level.INFO, "Validation daemon is listening on port " + daemon.getPort());
+		daemon.serve();
+	}
+
+	/**
+	 * Requests of one client
+	 */
+	private final class Connection implements Runnable {
+
+		private final Socket socket;
+
+		private Connection(Socket socket) {
+			this.socket = socket;
+		}
+
+		@Override
+		public void run() {
+			try (Socket client = this.socket;
+				 BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(),
+						 StandardCharsets.UTF_8));
+				 Writer out = new BufferedWriter(new OutputStreamWriter(client.getOutputStream(),
+						 StandardCharsets.UTF_8))) {
+				client.setSoTimeout(idleTimeout);
+				if (!isAuthenticated(in.readLine())) {
+					reply(out, "DENIED");
+					return;
+				}
+				reply(out, "READY");
+				String line = in.readLine();
+				while (line != null) {
+					String request = line.trim();
+					if (SHUTDOWN.equals(request)) {
+						reply(out, "BYE");
+						close();
+						return;
+					} else if (PING.equals(request)) {
+						reply(out, "PONG");
+					} else if (!request.isEmpty()) {
+						reply(out, ValidationJob.parse(request).run(config));
+					}
+					line = in.readLine();
+				}
+			} catch (SocketTimeoutException e) {
+				LOGGER.log(Level.FINE, "Closing idle connection of the daemon", e);
+			} catch (IOException e) {
+				LOGGER.log(Level.FINE, "Error while serving a client of the daemon", e);
+			}
+		}
+
+		private void reply(Writer out, String text) throws IOException {
+			out.write(text);
+			out.write('\n');
+			out.flush();
+		}
+	}
+}
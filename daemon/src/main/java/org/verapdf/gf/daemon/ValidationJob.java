@@ -0,0 +1,124 @@
+package org.verapdf.gf.daemon;
+
+import org.verapdf.core.VeraPDFException;
+import org.verapdf.gf.model.GFModelParser;
+import org.verapdf.gf.model.MemoryBudgetExceededException;
+import org.verapdf.gf.model.ModelParserConfig;
+import org.verapdf.gf.model.impl.containers.StaticContainers;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+import org.verapdf.pdfa.results.ValidationResult;
+import org.verapdf.pdfa.validation.validators.ValidatorFactory;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Validation of one document requested by a client of {@link ValidationDaemon}.
+ * A request is a line holding the path to a local PDF file, optionally
+ * preceded by a flavour id and a space, e.g. {@code 2b /data/in/file.pdf}.
+ * Without a flavour it is obtained from the XMP metadata of the document.
+ * <p>
+ * The reply is one line of tab separated fields. A processed document gets
+ * {@code OK}, the path, the flavour id, {@code compliant} or
+ * {@code non-compliant}, the number of failed checks, the validation time in
+ * milliseconds and {@code degraded} or {@code complete}, depending on whether
+ * the model had to be built in degraded mode to fit into the memory budget.
+ * A document that can't be processed gets {@code ERROR}, the path and the
+ * message.
+ *
+ * @author Sergey Shemyakov
+ */
+final class ValidationJob {
+
+	private static final Logger LOGGER = Logger.getLogger(ValidationJob.class.getCanonicalName());
+
+	private static final char SEPARATOR = '\t';
+
+	private final String path;
+	private final PDFAFlavour flavour;
+
+	ValidationJob(String path, PDFAFlavour flavour) {
+		this.path = path;
+		this.flavour = flavour;
+	}
+
+	/**
+	 * @param request request line
+	 * @return job described by the request
+	 */
+	static ValidationJob parse(String request) {
+		int space = request.indexOf(' ');
+		if (space > 0) {
+			PDFAFlavour flavour = PDFAFlavour.byFlavourId(request.substring(0, space));
+			if (flavour != PDFAFlavour.NO_FLAVOUR) {
+				return new ValidationJob(request.substring(space + 1).trim(), flavour);
+			}
+		}
+		return new ValidationJob(request.trim(), PDFAFlavour.NO_FLAVOUR);
+	}
+
+	/**
+	 * Validates the file of the job
+	 *
+	 * @param config configuration of the model parser
+	 * @return reply line
+	 */
+	String run(ModelParserConfig config) {
+		try (InputStream source = new BufferedInputStream(new FileInputStream(this.path))) {
+			return validate(source, config);
+		} catch (IOException e) {
+			// details of file system errors are not sent to the client
+			LOGGER.log(Level.FINE, "Can't read " + this.path, e);
+			return error("Can't read the file");
+		}
+	}
+
+	/**
+	 * Validates given document. Any state of the document is released before
+	 * the method returns, so the thread can proceed to the next document.
+	 *
+	 * @param source document to validate
+	 * @param config configuration of the model parser
+	 * @return reply line
+	 */
+	String validate(InputStream source, ModelParserConfig config) {
+		long start = System.nanoTime();
+		try {
+			GFModelParser parser = GFModelParser.createModelWithFlavour(source, this.flavour, config);
+			try {
+				PDFAFlavour validationFlavour = parser.getFlavour();
+				ValidationResult result = ValidatorFactory.createValidator(validationFlavour, false, 0)
+						.validate(parser);
+				long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+				return "OK" + SEPARATOR + this.path + SEPARATOR + validationFlavour.getId() + SEPARATOR +
+						(result.isCompliant() ? "compliant" : "non-compliant") + SEPARATOR +
+						result.getTestAssertions().size() + SEPARATOR + millis + SEPARATOR +
+						(parser.isDegraded() ? "degraded" : "complete");
+			} finally {
+				parser.close();
+			}
+		} catch (MemoryBudgetExceededException e) {
+			LOGGER.log(Level.FINE, "Document " + this.path + " doesn't fit into the memory budget", e);
+			return error(e.getModelParsingException().getMessage());
+		} catch (VeraPDFException e) {
+			LOGGER.log(Level.FINE, "Error while validating " + this.path, e);
+			return error(e.getMessage());
+		} catch (RuntimeException e) {
+			// a broken document must not stop the daemon
+			LOGGER.log(Level.FINE, "Unexpected error while validating " + this.path, e);
+			return error(e.toString());
+		} finally {
+			StaticContainers.clearAllContainers();
+		}
+	}
+
+	private String error(String message) {
+		String text = message == null ? "" : message.replace('\n', ' ').replace(SEPARATOR, ' ');
+		return "ERROR" + SEPARATOR + this.path + SEPARATOR + text;
+	}
+}
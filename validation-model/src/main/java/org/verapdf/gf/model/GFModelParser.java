@@ -12,8 +12,15 @@ import org.verapdf.features.AbstractFeaturesExtractor;
 import org.verapdf.features.FeatureExtractionResult;
 import org.verapdf.features.FeatureExtractorConfig;
 import org.verapdf.features.gf.GFFeatureParser;
+import org.verapdf.gf.model.impl.containers.MemoryBudget;
+import org.verapdf.gf.model.impl.containers.ModelContext;
 import org.verapdf.gf.model.impl.containers.StaticContainers;
 import org.verapdf.gf.model.impl.cos.GFCosDocument;
+import org.verapdf.gf.model.impl.pd.util.XMPCache;
+import org.verapdf.gf.model.statistics.LinkTimingHandler;
+import org.verapdf.gf.model.statistics.ModelStatistics;
+import org.verapdf.gf.model.statistics.ModelStatisticsRegistry;
+import org.verapdf.gf.model.statistics.ModelStatisticsSnapshot;
 import org.verapdf.metadata.fixer.entity.PDFDocument;
 import org.verapdf.metadata.fixer.gf.impl.model.PDFDocumentImpl;
 import org.verapdf.pd.PDDocument;
@@ -42,18 +49,32 @@ public class GFModelParser implements PDFAParser {
 
 	private PDDocument document;
 
-	private final PDFAFlavour flavour;
+	private PDFAFlavour flavour;
 
-	private GFModelParser(final InputStream docStream, PDFAFlavour flavour) throws IOException {
+	private ModelContext context;
+
+	private GFModelParser(final InputStream docStream, PDFAFlavour flavour, ModelParserConfig config)
+			throws IOException {
 		this.document = new PDDocument(docStream);
-		this.flavour = (flavour == PDFAFlavour.NO_FLAVOUR) ? obtainFlavour(this.document) : flavour;
-		initializeStaticContainers(this.document, this.flavour);
+		this.context = new ModelContext(this.document, flavour, config);
+		if (flavour == PDFAFlavour.NO_FLAVOUR) {
+			this.flavour = obtainFlavour(this.document, this.context.getXMPCache());
+			this.context.setFlavour(this.flavour);
+		} else {
+			this.flavour = flavour;
+		}
+		StaticContainers.setContext(this.context);
 	}
 
 	public static GFModelParser createModelWithFlavour(InputStream toLoad, PDFAFlavour flavour)
 			throws ModelParsingException, EncryptedPdfException {
+		return createModelWithFlavour(toLoad, flavour, ModelParserConfig.defaultConfig());
+	}
+
+	public static GFModelParser createModelWithFlavour(InputStream toLoad, PDFAFlavour flavour,
+			ModelParserConfig config) throws ModelParsingException, EncryptedPdfException {
 		try {
-			return new GFModelParser(toLoad, flavour);
+			return new GFModelParser(toLoad, flavour, config);
 		} catch (InvalidPasswordException excep) {
 			throw new EncryptedPdfException("The PDF stream appears to be encrypted.", excep);
 		} catch (IOException e) {
@@ -61,7 +82,7 @@ public class GFModelParser implements PDFAParser {
 		}
 	}
 
-	private static PDFAFlavour obtainFlavour(PDDocument document) {
+	private static PDFAFlavour obtainFlavour(PDDocument document, XMPCache xmpCache) {
 		PDMetadata metadata = null;
 		PDFAFlavour defaultFlavour = Foundries.defaultInstance().defaultFlavour();
 		try {
@@ -76,8 +97,11 @@ public class GFModelParser implements PDFAParser {
 			logger.log(Level.FINE, "Problem parsing metadata from document catalog.", e);
 			return defaultFlavour;
 		}
-		try (InputStream is = metadata.getStream()) {
-			VeraPDFMeta veraPDFMeta = VeraPDFMeta.parse(is);
+		try {
+			VeraPDFMeta veraPDFMeta = xmpCache.getMetadata(metadata);
+			if (veraPDFMeta == null) {
+				return defaultFlavour;
+			}
 			Integer identificationPart = veraPDFMeta.getIdentificationPart();
 			String identificationConformance = veraPDFMeta.getIdentificationConformance();
 			PDFAFlavour pdfaFlavour = PDFAFlavour.byFlavourId(identificationPart + identificationConformance);
@@ -91,12 +115,6 @@ public class GFModelParser implements PDFAParser {
 		}
 	}
 
-	private static void initializeStaticContainers(final PDDocument document, final PDFAFlavour flavour) {
-		StaticContainers.clearAllContainers();
-		StaticContainers.setDocument(document);
-		StaticContainers.setFlavour(flavour);
-	}
-
 	/**
 	 * Get {@code PDDocument} object for current file.
 	 *
@@ -108,6 +126,39 @@ public class GFModelParser implements PDFAParser {
 		return this.document;
 	}
 
+	/**
+	 * @return context holding the state of the document parsed by this parser
+	 */
+	public ModelContext getContext() {
+		return this.context;
+	}
+
+	/**
+	 * Prepares the parser for validation of the already parsed document against
+	 * another flavour. The parsed document and its parsed XMP packages are
+	 * kept, while the rest of the state of model objects created for the
+	 * previous flavour is dropped, so the model is built anew by the next call
+	 * of {@link #getRoot()}.
+	 *
+	 * @param flavour flavour of the next validation
+	 */
+	public void setFlavour(PDFAFlavour flavour) {
+		ModelContext previous = this.context;
+		releaseContext(previous);
+		this.flavour = flavour;
+		this.context = new ModelContext(this.document, flavour, previous.getConfig());
+		this.context.setXMPCache(previous.getXMPCache());
+		bindContext();
+	}
+
+	/**
+	 * Binds the context of this parser to the current thread. Model objects
+	 * of this parser have to be processed by the thread the context is bound to.
+	 */
+	public void bindContext() {
+		StaticContainers.setContext(this.context);
+	}
+
 	/**
 	 * Method return root object of model implementation from greenfield model
 	 * together with the hierarchy.
@@ -119,7 +170,40 @@ public class GFModelParser implements PDFAParser {
 	 */
 	@Override
 	public org.verapdf.model.baselayer.Object getRoot() {
-		return new GFCosDocument(this.document.getDocument());
+		bindContext();
+		GFCosDocument root = new GFCosDocument(this.document.getDocument());
+		ModelStatistics statistics = this.context.getStatistics();
+		if (statistics != null) {
+			return (org.verapdf.model.baselayer.Object) LinkTimingHandler.wrap(root, statistics);
+		}
+		return root;
+	}
+
+	/**
+	 * @return model objects created so far and time of the links followed by
+	 * the validator, or null if statistics are not collected
+	 */
+	public ModelStatisticsSnapshot getStatistics() {
+		ModelStatistics statistics = this.context.getStatistics();
+		return statistics == null ? null : statistics.getSnapshot();
+	}
+
+	/**
+	 * @return true if the model or a model of an embedded file has exceeded
+	 * the memory budget set by {@link ModelParserConfig#setMemoryBudget(long)}
+	 * and has been built in degraded mode, so not all glyphs have been checked
+	 */
+	public boolean isDegraded() {
+		return this.context.isDegraded() || this.context.isEmbeddedFilesDegraded();
+	}
+
+	/**
+	 * @return estimated memory taken by the model so far, or -1 if the memory
+	 * budget is not set
+	 */
+	public long getEstimatedMemoryUsage() {
+		MemoryBudget memoryBudget = this.context.getMemoryBudget();
+		return memoryBudget == null ? -1 : memoryBudget.getUsed();
 	}
 
 	@Override
@@ -150,9 +234,20 @@ public class GFModelParser implements PDFAParser {
 
 	@Override
 	public void close() {
+		// preparser tasks have to be stopped before the document is closed
+		releaseContext(this.context);
 		if (this.document != null) {
 			this.document.close();
 		}
+		ModelStatistics statistics = this.context.getStatistics();
+		if (statistics != null) {
+			ModelStatisticsRegistry.getInstance().addDocument(statistics.getSnapshot());
+		}
+	}
+
+	private static void releaseContext(ModelContext context) {
+		context.release();
+		StaticContainers.releaseContext(context);
 	}
 
 }
@@ -0,0 +1,30 @@
+package org.verapdf.gf.model;
+
+import org.verapdf.core.ModelParsingException;
+
+/**
+ * Thrown by model objects when the estimated memory taken by the model of a
+ * document exceeds its budget even in degraded mode. Model objects are built
+ * lazily by the validator, so the exception is unchecked; the
+ * {@link ModelParsingException} describing the failure is its cause.
+ *
+ * @author Sergey Shemyakov
+ */
+public class MemoryBudgetExceededException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * @param message description of the exceeded budget
+	 */
+	public MemoryBudgetExceededException(String message) {
+		super(message, new ModelParsingException(message));
+	}
+
+	/**
+	 * @return exception to report to the caller of the validation
+	 */
+	public ModelParsingException getModelParsingException() {
+		return (ModelParsingException) getCause();
+	}
+}
@@ -0,0 +1,261 @@
+package org.verapdf.gf.model;
+
+import org.verapdf.gf.model.impl.external.EmbeddedFileVerdictCache;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Optional settings of {@link GFModelParser}. Every mode is switched off in
+ * the default configuration, so the model behaves as a plain single threaded
+ * parser unless configured otherwise.
+ *
+ * @author Sergey Shemyakov
+ */
+public class ModelParserConfig {
+
+	/**
+	 * Default number of pages which content streams are parsed ahead of the
+	 * page that is being validated
+	 */
+	public static final int DEFAULT_PAGE_WINDOW = 8;
+
+	/**
+	 * Recommended number of parsed form XObject content streams held per
+	 * document when the cache is enabled
+	 */
+	public static final int DEFAULT_FORM_XOBJECT_CACHE_SIZE = 64;
+
+	/**
+	 * Default maximal number of arguments kept for one operator in streaming
+	 * content parsing mode
+	 */
+	public static final int DEFAULT_MAX_OPERATOR_ARGUMENTS = 1024;
+
+	/**
+	 * Default number of veraPDF color spaces held per document
+	 */
+	public static final int DEFAULT_COLOR_SPACE_CACHE_SIZE = 1024;
+
+	private static ForkJoinPool sharedPool = null;
+
+	private boolean parallelContentParsing = false;
+	private int pageWindow = DEFAULT_PAGE_WINDOW;
+	private ForkJoinPool contentParsingPool = null;
+	private int formXObjectCacheSize = 0;
+	private boolean streamingContentParsing = false;
+	private int maxOperatorArguments = DEFAULT_MAX_OPERATOR_ARGUMENTS;
+	private ModelPruning pruning = ModelPruning.NONE;
+	private int colorSpaceCacheSize = DEFAULT_COLOR_SPACE_CACHE_SIZE;
+	private EmbeddedFileVerdictCache embeddedFileVerdictCache = null;
+	private boolean modelStatistics = false;
+	private long memoryBudget = 0;
+	private long degradedModeReserve = -1;
+	private boolean pageRelease = false;
+
+	/**
+	 * @return new configuration object with default values
+	 */
+	public static ModelParserConfig defaultConfig() {
+		return new ModelParserConfig();
+	}
+
+	/**
+	 * @return true if content streams of pages and their annotation appearances
+	 * are pre-parsed on a fork-join pool
+	 */
+	public boolean isParallelContentParsing() {
+		return parallelContentParsing;
+	}
+
+	public ModelParserConfig setParallelContentParsing(boolean parallelContentParsing) {
+		this.parallelContentParsing = parallelContentParsing;
+		return this;
+	}
+
+	/**
+	 * @return number of pages pre-parsed ahead of the page being validated
+	 */
+	public int getPageWindow() {
+		return pageWindow;
+	}
+
+	public ModelParserConfig setPageWindow(int pageWindow) {
+		if (pageWindow < 1) {
+			throw new IllegalArgumentException("Page window should be positive");
+		}
+		this.pageWindow = pageWindow;
+		return this;
+	}
+
+	/**
+	 * @return pool used for parallel content parsing. If no pool has been set
+	 * the pool shared by all parsers in the process is used
+	 */
+	public ForkJoinPool getContentParsingPool() {
+		return contentParsingPool == null ? getSharedPool() : contentParsingPool;
+	}
+
+	public ModelParserConfig setContentParsingPool(ForkJoinPool contentParsingPool) {
+		this.contentParsingPool = contentParsingPool;
+		return this;
+	}
+
+	/**
+	 * @return maximal number of parsed form XObject content streams reused
+	 * within the document, zero value disables the reuse. The reuse is
+	 * disabled by default
+	 */
+	public int getFormXObjectCacheSize() {
+		return formXObjectCacheSize;
+	}
+
+	public ModelParserConfig setFormXObjectCacheSize(int formXObjectCacheSize) {
+		if (formXObjectCacheSize < 0) {
+			throw new IllegalArgumentException("Form XObject cache size should not be negative");
+		}
+		this.formXObjectCacheSize = formXObjectCacheSize;
+		return this;
+	}
+
+	/**
+	 * @return true if operators are built while content streams are tokenized,
+	 * without holding all tokens of a stream in memory. This mode takes
+	 * precedence over parallel content parsing
+	 */
+	public boolean isStreamingContentParsing() {
+		return streamingContentParsing;
+	}
+
+	public ModelParserConfig setStreamingContentParsing(boolean streamingContentParsing) {
+		this.streamingContentParsing = streamingContentParsing;
+		return this;
+	}
+
+	/**
+	 * @return maximal number of arguments kept for one operator in streaming
+	 * content parsing mode
+	 */
+	public int getMaxOperatorArguments() {
+		return maxOperatorArguments;
+	}
+
+	public ModelParserConfig setMaxOperatorArguments(int maxOperatorArguments) {
+		if (maxOperatorArguments < 1) {
+			throw new IllegalArgumentException("Maximal number of operator arguments should be positive");
+		}
+		this.maxOperatorArguments = maxOperatorArguments;
+		return this;
+	}
+
+	/**
+	 * @return links of the model that are not built, by default every link is
+	 * built
+	 */
+	public ModelPruning getPruning() {
+		return pruning;
+	}
+
+	public ModelParserConfig setPruning(ModelPruning pruning) {
+		this.pruning = pruning == null ? ModelPruning.NONE : pruning;
+		return this;
+	}
+
+	/**
+	 * @return maximal number of veraPDF color spaces reused within the document
+	 */
+	public int getColorSpaceCacheSize() {
+		return colorSpaceCacheSize;
+	}
+
+	public ModelParserConfig setColorSpaceCacheSize(int colorSpaceCacheSize) {
+		if (colorSpaceCacheSize < 1) {
+			throw new IllegalArgumentException("Color space cache size should be positive");
+		}
+		this.colorSpaceCacheSize = colorSpaceCacheSize;
+		return this;
+	}
+
+	/**
+	 * @return cache of validation verdicts of embedded files, or null if every
+	 * embedded file is validated
+	 */
+	public EmbeddedFileVerdictCache getEmbeddedFileVerdictCache() {
+		return embeddedFileVerdictCache;
+	}
+
+	public ModelParserConfig setEmbeddedFileVerdictCache(EmbeddedFileVerdictCache embeddedFileVerdictCache) {
+		this.embeddedFileVerdictCache = embeddedFileVerdictCache;
+		return this;
+	}
+
+	/**
+	 * @return true if model objects created for the document and time of the
+	 * links followed by the validator are counted
+	 */
+	public boolean isModelStatistics() {
+		return modelStatistics;
+	}
+
+	public ModelParserConfig setModelStatistics(boolean modelStatistics) {
+		this.modelStatistics = modelStatistics;
+		return this;
+	}
+
+	/**
+	 * @return estimated memory in bytes available to model objects and decoded
+	 * content streams of one document before it is switched to degraded mode,
+	 * zero value disables the budget. In degraded mode caches of the document
+	 * are dropped, content streams are parsed in streaming mode and glyphs are
+	 * not built
+	 */
+	public long getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	public ModelParserConfig setMemoryBudget(long memoryBudget) {
+		if (memoryBudget < 0) {
+			throw new IllegalArgumentException("Memory budget should not be negative");
+		}
+		this.memoryBudget = memoryBudget;
+		return this;
+	}
+
+	/**
+	 * @return estimated memory in bytes available to the document in degraded
+	 * mode in addition to the memory budget, building of the model is aborted
+	 * when it is exceeded. By default it is half of the memory budget
+	 */
+	public long getDegradedModeReserve() {
+		return degradedModeReserve < 0 ? memoryBudget / 2 : degradedModeReserve;
+	}
+
+	public ModelParserConfig setDegradedModeReserve(long degradedModeReserve) {
+		if (degradedModeReserve < 0) {
+			throw new IllegalArgumentException("Degraded mode reserve should not be negative");
+		}
+		this.degradedModeReserve = degradedModeReserve;
+		return this;
+	}
+
+	/**
+	 * @return true if content streams, annotations and glyphs of a page are
+	 * released as soon as the validator proceeds to the next page, so memory
+	 * taken by the model doesn't grow with the number of pages. Only the
+	 * transparency flag of released pages is kept
+	 */
+	public boolean isPageRelease() {
+		return pageRelease;
+	}
+
+	public ModelParserConfig setPageRelease(boolean pageRelease) {
+		this.pageRelease = pageRelease;
+		return this;
+	}
+
+	private static synchronized ForkJoinPool getSharedPool() {
+		if (sharedPool == null) {
+			sharedPool = new ForkJoinPool();
+		}
+		return sharedPool;
+	}
+}
@@ -0,0 +1,135 @@
+package org.verapdf.gf.model;
+
+import org.verapdf.pdfa.validation.profiles.Rule;
+import org.verapdf.pdfa.validation.profiles.ValidationProfile;
+import org.verapdf.pdfa.validation.profiles.Variable;
+
+import java.util.*;
+
+/**
+ * Defines links of the model that are not built because no object type
+ * checked by the validation profile can be reached through them.
+ * <p>
+ * Only links leading to large parts of the model are considered. For each of
+ * them the set of object types reachable through the link is described by
+ * type names and name prefixes, including super types of the reachable objects.
+ * A link is pruned if none of the profile object types falls into this set, so
+ * an object type unknown to this class can only disable pruning.
+ *
+ * @author Sergey Shemyakov
+ */
+public final class ModelPruning {
+
+	/**
+	 * Pruning that keeps every link of the model
+	 */
+	public static final ModelPruning NONE = new ModelPruning(Collections.<String>emptySet());
+
+	private static final String[] COS_PREFIXES = {"Cos", "XMP", "MainXMP", "Extension", "PDFA"};
+	private static final String[] GRAPHICS_PREFIXES = {"Op", "PD", "Cos", "XMP", "MainXMP", "Extension", "PDFA",
+			"Glyph", "CIDGlyph", "Font", "TrueType", "CMap", "ICC", "JPEG"};
+
+	private static final Map<String, Reach> PRUNABLE_LINKS;
+
+	static {
+		Map<String, Reach> aMap = new HashMap<>();
+		aMap.put(key("CosDocument", "indirectObjects"), new Reach(COS_PREFIXES,
+				Arrays.asList("PDObject", "PDMetadata", "EmbeddedFile"),
+				Arrays.asList("CosDocument", "CosTrailer", "CosXRef")));
+		aMap.put(key("PDContentStream", "operators"), new Reach(GRAPHICS_PREFIXES,
+				Collections.<String>emptyList(),
+				Arrays.asList("CosDocument", "CosTrailer", "CosXRef")));
+		aMap.put(key("OpTextShow", "usedGlyphs"), new Reach(new String[0],
+				Arrays.asList("Glyph", "CIDGlyph"), Collections.<String>emptyList()));
+		PRUNABLE_LINKS = Collections.unmodifiableMap(aMap);
+	}
+
+	private final Set<String> prunedLinks;
+
+	private ModelPruning(Set<String> prunedLinks) {
+		this.prunedLinks = prunedLinks;
+	}
+
+	/**
+	 * @param profile validation profile
+	 * @return pruning of links that can't lead to objects checked by rules or
+	 * used by variables of the profile
+	 */
+	public static ModelPruning fromProfile(ValidationProfile profile) {
+		Set<String> objectTypes = new HashSet<>();
+		for (Rule rule : profile.getRules()) {
+			objectTypes.add(rule.getObject());
+		}
+		for (Variable variable : profile.getVariables()) {
+			objectTypes.add(variable.getObject());
+		}
+		return fromObjectTypes(objectTypes);
+	}
+
+	/**
+	 * @param objectTypes names of model object types that have to be built
+	 * @return pruning of links that can't lead to objects of the given types
+	 */
+	public static ModelPruning fromObjectTypes(Collection<String> objectTypes) {
+		Set<String> prunedLinks = new HashSet<>();
+		for (Map.Entry<String, Reach> entry : PRUNABLE_LINKS.entrySet()) {
+			if (!entry.getValue().reachesAny(objectTypes)) {
+				prunedLinks.add(entry.getKey());
+			}
+		}
+		return new ModelPruning(Collections.unmodifiableSet(prunedLinks));
+	}
+
+	/**
+	 * @param objectType model type declaring the link
+	 * @param link       name of the link
+	 * @return true if objects of the link should not be built
+	 */
+	public boolean isPruned(String objectType, String link) {
+		return !this.prunedLinks.isEmpty() && this.prunedLinks.contains(key(objectType, link));
+	}
+
+	private static String key(String objectType, String link) {
+		return objectType + '.' + link;
+	}
+
+	private static class Reach {
+
+		private final String[] prefixes;
+		private final Collection<String> names;
+		private final Collection<String> excludedNames;
+
+		Reach(String[] prefixes, Collection<String> names, Collection<String> excludedNames) {
+			this.prefixes = prefixes;
+			this.names = names;
+			this.excludedNames = excludedNames;
+		}
+
+		boolean reachesAny(Collection<String> objectTypes) {
+			for (String objectType : objectTypes) {
+				if (reaches(objectType)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean reaches(String objectType) {
+			if (objectType == null || "Object".equals(objectType) || "ExternalObject".equals(objectType)) {
+				return true;
+			}
+			if (this.excludedNames.contains(objectType)) {
+				return false;
+			}
+			if (this.names.contains(objectType)) {
+				return true;
+			}
+			for (String prefix : this.prefixes) {
+				if (objectType.startsWith(prefix)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
@@ -0,0 +1,243 @@
+package org.verapdf.gf.model.factory.colors;
+
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.*;
+import org.verapdf.gf.model.impl.containers.ModelContext;
+import org.verapdf.model.pdlayer.PDColorSpace;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of veraPDF color spaces of one document. Color spaces are
+ * identified by the key of their indirect object or, for direct objects, by a
+ * structural digest of their content, together with the overprint mode and
+ * the overprint flag where the color space depends on them. Least recently
+ * used color spaces are evicted first. Memory charged while a cached color
+ * space is created belongs to the cache until the color space is evicted.
+ *
+ * @author Sergey Shemyakov
+ */
+public class ColorSpaceCache {
+
+	private static final int MAX_DIGEST_LENGTH = 2048;
+	private static final int MAX_DIGEST_DEPTH = 8;
+
+	private final ModelContext context;
+	private final Map<Key, Entry> colorSpaces;
+
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * @param context context of the document owning the cache
+	 * @param maxSize maximal number of color spaces held by the cache
+	 */
+	public ColorSpaceCache(ModelContext context, final int maxSize) {
+		this.context = context;
+		this.colorSpaces = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				if (size() > maxSize) {
+					ColorSpaceCache.this.context.memoryEvictedFromCache(eldest.getValue().memory);
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * @param key key of the color space
+	 * @return cached color space or null
+	 */
+	public PDColorSpace get(Key key) {
+		Entry res = this.colorSpaces.get(key);
+		if (res == null) {
+			++this.misses;
+			return null;
+		}
+		++this.hits;
+		return res.colorSpace;
+	}
+
+	/**
+	 * @param key        key of the color space
+	 * @param colorSpace color space to cache
+	 * @param memory     memory charged while the color space has been created
+	 */
+	public void put(Key key, PDColorSpace colorSpace, long memory) {
+		this.context.memoryRetainedByCache(memory);
+		this.colorSpaces.put(key, new Entry(colorSpace, memory));
+	}
+
+	/**
+	 * Removes all color spaces from the cache
+	 */
+	public void clear() {
+		for (Entry entry : this.colorSpaces.values()) {
+			this.context.memoryEvictedFromCache(entry.memory);
+		}
+		this.colorSpaces.clear();
+	}
+
+	/**
+	 * @return number of lookups that found a cached color space
+	 */
+	public long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * @return number of lookups that did not find a cached color space
+	 */
+	public long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * @return number of color spaces held by the cache
+	 */
+	public int size() {
+		return this.colorSpaces.size();
+	}
+
+	/**
+	 * Creates key of the color space
+	 *
+	 * @param colorSpace       color space object
+	 * @param opm              overprint mode, taken into account only if
+	 *                         {@code dependsOnOverprint} is true
+	 * @param overprintingFlag overprint flag, taken into account only if
+	 *                         {@code dependsOnOverprint} is true
+	 * @param dependsOnOverprint true if the veraPDF color space depends on
+	 *                           overprint parameters
+	 * @return key of the color space
+	 */
+	public static Key createKey(org.verapdf.pd.colors.PDColorSpace colorSpace, int opm,
+								boolean overprintingFlag, boolean dependsOnOverprint) {
+		int flags = colorSpace.isInherited() ? 1 : 0;
+		if (dependsOnOverprint) {
+			flags |= (overprintingFlag ? 2 : 0) | (opm << 2);
+		}
+		COSObject object = colorSpace.getObject();
+		if (object == null || object.empty()) {
+			return new Key(colorSpace, true, flags);
+		}
+		COSKey objectKey = object.getObjectKey();
+		if (objectKey != null) {
+			return new Key(objectKey, false, flags);
+		}
+		StringBuilder digest = new StringBuilder();
+		if (appendDigest(digest, object, 0)) {
+			return new Key(digest.toString(), false, flags);
+		}
+		return new Key(object.getDirectBase(), true, flags);
+	}
+
+	private static boolean appendDigest(StringBuilder digest, COSObject object, int depth) {
+		if (digest.length() > MAX_DIGEST_LENGTH || depth > MAX_DIGEST_DEPTH) {
+			return false;
+		}
+		COSKey key = object.getKey();
+		if (key != null) {
+			digest.append('R').append(key.getNumber()).append(' ').append(key.getGeneration()).append(';');
+			return true;
+		}
+		switch (object.getType()) {
+			case COS_NULL:
+				digest.append('N');
+				return true;
+			case COS_BOOLEAN:
+				digest.append(object.getBoolean().booleanValue() ? 'T' : 'F');
+				return true;
+			case COS_INTEGER:
+				digest.append('I').append(object.getInteger()).append(';');
+				return true;
+			case COS_REAL:
+				digest.append('D').append(object.getReal()).append(';');
+				return true;
+			case COS_NAME:
+				appendString(digest.append('/'), object.getName().getValue());
+				return true;
+			case COS_STRING:
+				byte[] bytes = ((COSString) object.getDirectBase()).get();
+				appendString(digest.append('S'), new String(bytes, StandardCharsets.ISO_8859_1));
+				return true;
+			case COS_ARRAY:
+				digest.append('[');
+				for (COSObject element : (COSArray) object.getDirectBase()) {
+					if (element == null || !appendDigest(digest, element, depth + 1)) {
+						return false;
+					}
+				}
+				digest.append(']');
+				return true;
+			case COS_DICT:
+				digest.append('<');
+				for (ASAtom dictKey : object.getKeySet()) {
+					appendString(digest, dictKey.getValue());
+					if (!appendDigest(digest, object.getKey(dictKey), depth + 1)) {
+						return false;
+					}
+				}
+				digest.append('>');
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static void appendString(StringBuilder digest, String value) {
+		digest.append(value.length()).append(':').append(value);
+	}
+
+	private static final class Entry {
+
+		private final PDColorSpace colorSpace;
+		private final long memory;
+
+		Entry(PDColorSpace colorSpace, long memory) {
+			this.colorSpace = colorSpace;
+			this.memory = memory;
+		}
+	}
+
+	/**
+	 * Key of the color space in the cache
+	 */
+	public static final class Key {
+
+		private final Object id;
+		private final boolean identity;
+		private final int flags;
+
+		private Key(Object id, boolean identity, int flags) {
+			this.id = id;
+			this.identity = identity;
+			this.flags = flags;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Key that = (Key) o;
+			if (this.flags != that.flags || this.identity != that.identity) {
+				return false;
+			}
+			return this.identity ? this.id == that.id : this.id.equals(that.id);
+		}
+
+		@Override
+		public int hashCode() {
+			int idHash = this.identity ? System.identityHashCode(this.id) : this.id.hashCode();
+			return 31 * idHash + this.flags;
+		}
+	}
+}
@@ -46,12 +46,20 @@ public class ColorSpaceFactory {
 		if (colorSpace == null) {
 			return null;
 		}
-		String uniqueID = getColorSpaceUniqueIdentifier(colorSpace, opm, overprintingFlag);
-		if (StaticContainers.cachedColorSpaces.containsKey(uniqueID)) {
-			return StaticContainers.cachedColorSpaces.get(uniqueID);
+		String type = colorSpace.getType().toString();
+		ColorSpaceCache cache = StaticContainers.getColorSpaceCache();
+		ColorSpaceCache.Key key = null;
+		long memoryStart = 0;
+		if (cache != null && isCached(type)) {
+			key = ColorSpaceCache.createKey(colorSpace, opm, overprintingFlag, isOverprintDependent(colorSpace));
+			PDColorSpace cached = cache.get(key);
+			if (cached != null) {
+				return cached;
+			}
+			memoryStart = StaticContainers.getContext().getPageMemory();
 		}
 		PDColorSpace result;
-		switch (colorSpace.getType().toString()) {
+		switch (type) {
 		case CAL_GRAY:
 			result = new GFPDCalGray((PDCalGray) colorSpace);
 			break;
@@ -94,7 +102,9 @@ public class ColorSpaceFactory {
 		default:
 			return null;
 		}
-		StaticContainers.cachedColorSpaces.put(uniqueID, result);
+		if (key != null && !StaticContainers.getContext().isDegraded()) {
+			cache.put(key, result, StaticContainers.getContext().getPageMemory() - memoryStart);
+		}
 		return result;
 	}
 
@@ -111,11 +121,19 @@ public class ColorSpaceFactory {
 		}
 	}
 
-	private static String getColorSpaceUniqueIdentifier(org.verapdf.pd.colors.PDColorSpace base, int opm,
-			boolean overprintFlag) {
-		if (ICC_BASED.equals(base.getType().toString()) && base.getNumberOfComponents() == 4) {
-			return String.valueOf(base.hashCode() + " " + opm + " " + overprintFlag);
+	private static boolean isCached(String type) {
+		switch (type) {
+			case DEVICE_CMYK:
+			case DEVICE_RGB:
+			case DEVICE_GRAY:
+			case PATTERN:
+				return false;
+			default:
+				return true;
 		}
-		return String.valueOf(base.hashCode());
+	}
+
+	private static boolean isOverprintDependent(org.verapdf.pd.colors.PDColorSpace colorSpace) {
+		return ICC_BASED.equals(colorSpace.getType().toString()) && colorSpace.getNumberOfComponents() == 4;
 	}
 }
@@ -1,5 +1,6 @@
 package org.verapdf.gf.model.factory.operators;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -13,9 +14,11 @@ import java.util.logging.Logger;
 
 import org.verapdf.cos.COSBase;
 import org.verapdf.gf.model.impl.pd.util.PDResourcesHandler;
+import org.verapdf.gf.model.tools.ChunkedList;
 import org.verapdf.gf.model.tools.TransparencyBehaviour;
 import org.verapdf.model.tools.constants.Operators;
 import org.verapdf.operator.Operator;
+import org.verapdf.parser.PDFStreamParser;
 
 /**
  * Class for converting raw operators to the veraPDF-library operators
@@ -27,6 +30,7 @@ public final class OperatorFactory {
 	private static final Logger LOGGER = Logger.getLogger(OperatorFactory.class.getCanonicalName());
 
 	private static final String MSG_UNEXPECTED_OBJECT_TYPE = "Unexpected type of object in tokens: ";
+	private static final String MSG_TOO_MANY_ARGUMENTS = "Operator arguments exceed the limit, dropping the first one. Limit: ";
 
 	private boolean isLastParsedContainsTransparency = false;
 
@@ -89,29 +93,74 @@ public final class OperatorFactory {
 		OperatorParser parser = new OperatorParser();
 
 		for (Object rawToken : rawTokens) {
-			if (rawToken instanceof COSBase) {
-				arguments.add((COSBase) rawToken);
-			} else if (rawToken instanceof Operator) {
-				parser.parseOperator(result, ((Operator) rawToken), resourcesHandler, arguments);
-				String parsedOperatorType = ((Operator) rawToken).getOperator();
-				TransparencyGraphicsState graphicState = parser.getTransparencyGraphicState();
-				if (PAINT_OPERATORS_WITHOUT_TEXT.containsKey(parsedOperatorType)) {
-					isLastParsedContainsTransparency |= PAINT_OPERATORS_WITHOUT_TEXT.get(parsedOperatorType)
-							.containsTransparency(graphicState);
-				} else {
-					RenderingMode renderingMode = parser.getGSRenderingMode();
-					if (PAINT_OPERATORS_TEXT.contains(parsedOperatorType)
-							&& RENDERING_MODE.containsKey(renderingMode)) {
-						isLastParsedContainsTransparency |= RENDERING_MODE.get(renderingMode)
-								.containsTransparency(graphicState);
-					}
-				}
+			arguments = processToken(rawToken, arguments, parser, result, resourcesHandler, Integer.MAX_VALUE);
+		}
+		return result;
+	}
 
-				arguments = new ArrayList<>();
-			} else {
-				LOGGER.log(Level.FINE, MSG_UNEXPECTED_OBJECT_TYPE + rawToken.getClass().getName());
-			}
+	/**
+	 * Converts operators of the content stream while it is being tokenized, so
+	 * the whole list of raw tokens is never held in memory
+	 *
+	 * @param streamParser     parser of the decoded content stream
+	 * @param resourcesHandler resources of the content stream
+	 * @param maxArguments     maximal number of arguments kept for one operator,
+	 *                         extra leading arguments are dropped
+	 * @return list of veraPDF-library operators
+	 * @throws IOException if the stream can't be read
+	 */
+	public List<org.verapdf.model.operator.Operator> operatorsFromStream(PDFStreamParser streamParser,
+			PDResourcesHandler resourcesHandler, int maxArguments) throws IOException {
+		List<org.verapdf.model.operator.Operator> result = new ChunkedList<>();
+		List<COSBase> arguments = new ArrayList<>();
+		this.isLastParsedContainsTransparency = false;
+		OperatorParser parser = new OperatorParser();
+
+		Object rawToken = streamParser.parseNextToken();
+		while (rawToken != null) {
+			arguments = processToken(rawToken, arguments, parser, result, resourcesHandler, maxArguments);
+			rawToken = streamParser.parseNextToken();
 		}
 		return result;
 	}
+
+	/**
+	 * @return list of arguments for the next operator
+	 */
+	private List<COSBase> processToken(Object rawToken, List<COSBase> arguments, OperatorParser parser,
+			List<org.verapdf.model.operator.Operator> result, PDResourcesHandler resourcesHandler, int maxArguments) {
+		if (rawToken instanceof COSBase) {
+			if (arguments.size() >= maxArguments) {
+				LOGGER.log(Level.FINE, MSG_TOO_MANY_ARGUMENTS + maxArguments);
+				arguments.remove(0);
+			}
+			arguments.add((COSBase) rawToken);
+		} else if (rawToken instanceof Operator) {
+			parser.parseOperator(result, ((Operator) rawToken), resourcesHandler, arguments);
+			if (!this.isLastParsedContainsTransparency) {
+				TransparencyBehaviour behaviour = getPaintBehaviour(((Operator) rawToken).getOperator(), parser);
+				if (behaviour != null) {
+					this.isLastParsedContainsTransparency = behaviour
+							.containsTransparency(parser.getTransparencyGraphicState());
+				}
+			}
+
+			return new ArrayList<>();
+		} else {
+			LOGGER.log(Level.FINE, MSG_UNEXPECTED_OBJECT_TYPE + rawToken.getClass().getName());
+		}
+		return arguments;
+	}
+
+	/**
+	 * @return transparency checker of the given operator, or null if the operator
+	 * does not paint anything
+	 */
+	private static TransparencyBehaviour getPaintBehaviour(String operatorType, OperatorParser parser) {
+		TransparencyBehaviour behaviour = PAINT_OPERATORS_WITHOUT_TEXT.get(operatorType);
+		if (behaviour == null && PAINT_OPERATORS_TEXT.contains(operatorType)) {
+			behaviour = RENDERING_MODE.get(parser.getGSRenderingMode());
+		}
+		return behaviour;
+	}
 }
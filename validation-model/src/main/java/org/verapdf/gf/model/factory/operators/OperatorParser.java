@@ -103,10 +103,12 @@ class OperatorParser {
 	OperatorParser() {
 	}
 
-	public TransparencyGraphicsState getTransparencyGraphicState() {
-		TransparencyGraphicsState tgs = new TransparencyGraphicsState();
-		tgs.copyProperties(this.transparencyGraphicState);
-		return tgs;
+	/**
+	 * @return current transparency graphic state. Returned object is changed by
+	 * subsequent operators, so it has to be inspected before parsing the next one
+	 */
+	TransparencyGraphicsState getTransparencyGraphicState() {
+		return this.transparencyGraphicState;
 	}
 
 	public RenderingMode getGSRenderingMode() {
@@ -0,0 +1,135 @@
+package org.verapdf.gf.model.impl.containers;
+
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSFilters;
+import org.verapdf.cos.COSStream;
+import org.verapdf.gf.model.MemoryBudgetExceededException;
+
+/**
+ * Estimated memory taken by the model of one document. Model objects are
+ * charged as they are created and content streams before they are decoded.
+ * In page release mode charges made while a page is current are discharged
+ * when the page is released, except for objects kept by the caches of the
+ * document, which are discharged with the page that is current when they are
+ * evicted. Otherwise charges are never discharged. The estimate relies on
+ * shallow sizes and assumed stream expansion, so it approximates the memory
+ * held by the model rather than bounds it. The first charge over the budget
+ * switches the document to degraded mode, a charge over the budget together
+ * with its degraded mode reserve aborts building of the model.
+ *
+ * @author Sergey Shemyakov
+ */
+public class MemoryBudget {
+
+	/**
+	 * Estimated size of one token of a decoded content stream held until
+	 * operators are built from it
+	 */
+	public static final long TOKEN_SIZE = 32;
+
+	/**
+	 * Assumed ratio of decoded and encoded sizes of filtered streams without
+	 * DL entry
+	 */
+	private static final long FILTERED_STREAM_EXPANSION = 4;
+
+	/**
+	 * Assumed average length of a content stream token in bytes
+	 */
+	private static final long AVERAGE_TOKEN_LENGTH = 4;
+
+	private static final ASAtom DL = ASAtom.getASAtom("DL");
+
+	private final long budget;
+	private final long limit;
+
+	private long used = 0;
+	private boolean exceeded = false;
+
+	/**
+	 * @param budget  estimated memory available to the model in normal mode
+	 * @param reserve estimated memory available to the model in degraded mode
+	 *                in addition to the budget
+	 */
+	public MemoryBudget(long budget, long reserve) {
+		this.budget = budget;
+		this.limit = budget + reserve;
+	}
+
+	/**
+	 * @param bytes estimated size of the created object
+	 * @return true if the budget has been exceeded by this charge for the
+	 * first time
+	 * @throws MemoryBudgetExceededException if the budget together with its
+	 * reserve has been exceeded
+	 */
+	public boolean charge(long bytes) {
+		this.used += bytes;
+		if (this.used > this.limit) {
+			throw new MemoryBudgetExceededException("Estimated memory taken by the model of the document (" +
+					this.used + " bytes) exceeds the memory budget of " + this.budget +
+					" bytes and its degraded mode reserve");
+		}
+		if (!this.exceeded && this.used > this.budget) {
+			this.exceeded = true;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @param bytes estimated size of objects that are going to be created
+	 * @return true if the objects fit into the budget
+	 */
+	public boolean fits(long bytes) {
+		return this.used + bytes <= this.budget;
+	}
+
+	/**
+	 * Estimates size of the decoded data of the stream without decoding it.
+	 * The DL entry is used if present, otherwise the stream length, multiplied
+	 * by {@link #FILTERED_STREAM_EXPANSION} for filtered streams.
+	 *
+	 * @param stream stream to estimate
+	 * @return estimated size of the decoded data in bytes
+	 */
+	public static long estimateDecodedSize(COSStream stream) {
+		Long decodedLength = stream.getIntegerKey(DL);
+		if (decodedLength != null && decodedLength.longValue() >= 0) {
+			return decodedLength.longValue();
+		}
+		Long length = stream.getIntegerKey(ASAtom.LENGTH);
+		long res = length == null || length.longValue() < 0 ? 0 : length.longValue();
+		COSFilters filters = stream.getFilters();
+		if (filters != null && !filters.getFilters().isEmpty()) {
+			res *= FILTERED_STREAM_EXPANSION;
+		}
+		return res;
+	}
+
+	/**
+	 * @param decodedSize size of the decoded content stream
+	 * @return estimated size of the tokens of the content stream
+	 */
+	public static long estimateTokensSize(long decodedSize) {
+		return decodedSize / AVERAGE_TOKEN_LENGTH * TOKEN_SIZE;
+	}
+
+	/**
+	 * @param bytes estimated size of released objects
+	 */
+	public void discharge(long bytes) {
+		this.used = Math.max(0, this.used - bytes);
+	}
+
+	/**
+	 * @return estimated memory charged so far
+	 */
+	public long getUsed() {
+		return this.used;
+	}
+
+	public long getBudget() {
+		return this.budget;
+	}
+}
@@ -0,0 +1,446 @@
+package org.verapdf.gf.model.impl.containers;
+
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSDictionary;
+import org.verapdf.gf.model.ModelParserConfig;
+import org.verapdf.gf.model.factory.colors.ColorSpaceCache;
+import org.verapdf.gf.model.impl.operator.textshow.GlyphCache;
+import org.verapdf.gf.model.impl.pd.GFPDPage;
+import org.verapdf.gf.model.impl.pd.colors.GFPDSeparation;
+import org.verapdf.gf.model.impl.pd.font.CIDSetCache;
+import org.verapdf.gf.model.impl.pd.font.FontProgramRegistry;
+import org.verapdf.gf.model.impl.pd.signature.SignatureOffsetIndex;
+import org.verapdf.gf.model.impl.pd.util.ContentStreamPreparser;
+import org.verapdf.gf.model.impl.pd.util.FormXObjectCache;
+import org.verapdf.gf.model.impl.pd.util.ResolvedResources;
+import org.verapdf.gf.model.impl.pd.util.TaggedPDFRoleMapHelper;
+import org.verapdf.gf.model.impl.pd.util.XMPCache;
+import org.verapdf.gf.model.statistics.ModelStatistics;
+import org.verapdf.gf.model.statistics.ShallowSizeEstimator;
+import org.verapdf.gf.model.tools.FileSpecificationKeysHelper;
+import org.verapdf.pd.PDDocument;
+import org.verapdf.pd.font.PDFont;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Holds all the state that belongs to a single parsed document. An instance is
+ * created for every {@link org.verapdf.gf.model.GFModelParser} and bound to the
+ * thread that validates it through {@link StaticContainers}, so several
+ * documents can be validated in parallel without sharing any of this data.
+ *
+ * @author Sergey Shemyakov
+ */
+public class ModelContext {
+
+	private static final Logger LOGGER = Logger.getLogger(ModelContext.class.getCanonicalName());
+
+	private final ModelParserConfig config;
+
+	private PDDocument document;
+	private PDFAFlavour flavour;
+
+	// TaggedPDF
+	private TaggedPDFRoleMapHelper roleMapHelper;
+
+	//PBoxPDSeparation
+	private final Map<String, GFPDSeparation.Fingerprint> separations = new HashMap<>();
+	private final Set<String> inconsistentSeparations = new HashSet<>();
+
+	//ColorSpaceFactory
+	private final ColorSpaceCache colorSpaceCache;
+
+	private FileSpecificationKeysHelper fileSpecificationKeysHelper;
+
+	private ContentStreamPreparser contentStreamPreparser;
+
+	private FormXObjectCache formXObjectCache;
+
+	private final Map<COSDictionary, GlyphCache> glyphCaches = new IdentityHashMap<>();
+
+	private final Map<ResolvedResources.Key, ResolvedResources> resolvedResources = new HashMap<>();
+
+	private XMPCache xmpCache = new XMPCache();
+
+	private CIDSetCache cidSetCache;
+
+	private FontProgramRegistry fontProgramRegistry;
+
+	private SignatureOffsetIndex signatureOffsetIndex;
+
+	private final ModelStatistics statistics;
+
+	private final MemoryBudget memoryBudget;
+	private boolean degraded = false;
+	private boolean embeddedFilesDegraded = false;
+
+	private GFPDPage currentPage;
+	private long pageChargedMemory = 0;
+	private long pageRetainedMemory = 0;
+
+	public ModelContext(PDDocument document, PDFAFlavour flavour) {
+		this(document, flavour, ModelParserConfig.defaultConfig());
+	}
+
+	public ModelContext(PDDocument document, PDFAFlavour flavour, ModelParserConfig config) {
+		this.document = document;
+		this.flavour = flavour;
+		this.config = config;
+		this.colorSpaceCache = new ColorSpaceCache(this, config.getColorSpaceCacheSize());
+		this.statistics = config.isModelStatistics() ? new ModelStatistics() : null;
+		this.memoryBudget = config.getMemoryBudget() > 0 ?
+				new MemoryBudget(config.getMemoryBudget(), config.getDegradedModeReserve()) : null;
+	}
+
+	public ModelParserConfig getConfig() {
+		return config;
+	}
+
+	public PDDocument getDocument() {
+		return document;
+	}
+
+	public void setDocument(PDDocument document) {
+		this.document = document;
+	}
+
+	public PDFAFlavour getFlavour() {
+		return flavour;
+	}
+
+	public void setFlavour(PDFAFlavour flavour) {
+		this.flavour = flavour;
+		if (roleMapHelper != null) {
+			roleMapHelper.setFlavour(flavour);
+		}
+	}
+
+	public TaggedPDFRoleMapHelper getRoleMapHelper() {
+		return roleMapHelper;
+	}
+
+	public void setRoleMapHelper(Map<ASAtom, ASAtom> roleMap) {
+		this.roleMapHelper = new TaggedPDFRoleMapHelper(roleMap, this.flavour);
+	}
+
+	/**
+	 * @return alternate space and tint transform of the first separation
+	 * registered for each colorant name
+	 */
+	public Map<String, GFPDSeparation.Fingerprint> getSeparations() {
+		return separations;
+	}
+
+	/**
+	 * @return colorant names used by separations with different alternate
+	 * spaces or tint transforms
+	 */
+	public Set<String> getInconsistentSeparations() {
+		return inconsistentSeparations;
+	}
+
+	/**
+	 * @return cache of veraPDF color spaces, or null if the document is in
+	 * degraded mode and color spaces are created on every use
+	 */
+	public ColorSpaceCache getColorSpaceCache() {
+		return degraded ? null : colorSpaceCache;
+	}
+
+	/**
+	 * @return index of the file specifications referenced from AF entries of
+	 * the document objects
+	 */
+	public FileSpecificationKeysHelper getFileSpecificationKeysHelper() {
+		if (fileSpecificationKeysHelper == null) {
+			fileSpecificationKeysHelper = new FileSpecificationKeysHelper(document);
+		}
+		return fileSpecificationKeysHelper;
+	}
+
+	/**
+	 * @return content stream preparser of the document pages, or null if
+	 * content streams are parsed only when the validator reaches them
+	 */
+	public ContentStreamPreparser getContentStreamPreparser() {
+		return contentStreamPreparser;
+	}
+
+	public void setContentStreamPreparser(ContentStreamPreparser contentStreamPreparser) {
+		this.contentStreamPreparser = contentStreamPreparser;
+	}
+
+	/**
+	 * @return cache of parsed form XObject content streams, or null if forms
+	 * are parsed on every use
+	 */
+	public FormXObjectCache getFormXObjectCache() {
+		if (formXObjectCache == null && config.getFormXObjectCacheSize() > 0 && !degraded) {
+			formXObjectCache = new FormXObjectCache(this, config.getFormXObjectCacheSize());
+		}
+		return formXObjectCache;
+	}
+
+	/**
+	 * @param font font used by text show operators
+	 * @return storage of glyph checks results of the font
+	 */
+	public GlyphCache getGlyphCache(PDFont font) {
+		COSDictionary fontDictionary = font.getDictionary();
+		GlyphCache res = glyphCaches.get(fontDictionary);
+		if (res == null) {
+			res = new GlyphCache();
+			glyphCaches.put(fontDictionary, res);
+		}
+		return res;
+	}
+
+	/**
+	 * @param key key of resource dictionaries used by resources handler
+	 * @return results of resource lookups shared by all handlers over the
+	 * same resource dictionaries
+	 */
+	public ResolvedResources getResolvedResources(ResolvedResources.Key key) {
+		ResolvedResources res = resolvedResources.get(key);
+		if (res == null) {
+			res = new ResolvedResources();
+			if (!degraded) {
+				resolvedResources.put(key, res);
+			}
+		}
+		return res;
+	}
+
+	/**
+	 * @return parsed XMP packages of the document
+	 */
+	public XMPCache getXMPCache() {
+		return xmpCache;
+	}
+
+	/**
+	 * @param xmpCache parsed XMP packages of the same document, used when the
+	 *                 document is validated again in a new context
+	 */
+	public void setXMPCache(XMPCache xmpCache) {
+		this.xmpCache = xmpCache;
+	}
+
+	/**
+	 * @return decoded CIDSet streams and glyphs of CID font programs
+	 */
+	public CIDSetCache getCIDSetCache() {
+		if (degraded) {
+			return new CIDSetCache();
+		}
+		if (cidSetCache == null) {
+			cidSetCache = new CIDSetCache();
+		}
+		return cidSetCache;
+	}
+
+	/**
+	 * @return parsed font programs shared by all objects of the same font
+	 */
+	public FontProgramRegistry getFontProgramRegistry() {
+		if (fontProgramRegistry == null) {
+			fontProgramRegistry = new FontProgramRegistry();
+		}
+		return fontProgramRegistry;
+	}
+
+	/**
+	 * @return index of signature contents and revision ends in the source of
+	 * the document
+	 */
+	public SignatureOffsetIndex getSignatureOffsetIndex() {
+		if (signatureOffsetIndex == null) {
+			signatureOffsetIndex = new SignatureOffsetIndex(document.getPDFSource(),
+					document.getDocument().getHeader().getHeaderOffset());
+		}
+		return signatureOffsetIndex;
+	}
+
+	/**
+	 * @return counters of model objects and links of the document, or null if
+	 * statistics are not collected
+	 */
+	public ModelStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Counts given model object in statistics and charges it to the memory
+	 * budget of the document
+	 *
+	 * @param object new model object
+	 * @throws org.verapdf.gf.model.MemoryBudgetExceededException if the model
+	 * doesn't fit into the memory budget even in degraded mode
+	 */
+	public void registerModelObject(Object object) {
+		if (statistics != null) {
+			statistics.objectCreated(object.getClass());
+		}
+		if (memoryBudget != null) {
+			chargeMemory(ShallowSizeEstimator.estimate(object.getClass()));
+		}
+	}
+
+	/**
+	 * Charges data created for the model, like decoded content streams, to the
+	 * memory budget of the document
+	 *
+	 * @param bytes estimated size of the data
+	 * @throws org.verapdf.gf.model.MemoryBudgetExceededException if the model
+	 * doesn't fit into the memory budget even in degraded mode
+	 */
+	public void chargeMemory(long bytes) {
+		if (memoryBudget == null) {
+			return;
+		}
+		pageChargedMemory += bytes;
+		if (memoryBudget.charge(bytes)) {
+			enterDegradedMode();
+		}
+	}
+
+	/**
+	 * @return memory charged since the validator has reached the current page,
+	 * except for objects kept by caches of the document
+	 */
+	public long getPageMemory() {
+		return pageChargedMemory - pageRetainedMemory;
+	}
+
+	/**
+	 * Notifies the context that objects charged to the memory budget are kept
+	 * by a cache of the document, so they are not discharged together with the
+	 * current page
+	 *
+	 * @param bytes memory charged for the cached objects
+	 */
+	public void memoryRetainedByCache(long bytes) {
+		pageRetainedMemory += bytes;
+	}
+
+	/**
+	 * Notifies the context that objects have been evicted from a cache of the
+	 * document. They can still be used by the current page, so they are
+	 * discharged together with it.
+	 *
+	 * @param bytes memory charged for the evicted objects
+	 */
+	public void memoryEvictedFromCache(long bytes) {
+		pageRetainedMemory -= bytes;
+	}
+
+	/**
+	 * @param bytes estimated size of data that is going to be created for the
+	 *              model
+	 * @return true if the data fits into the memory budget of the document or
+	 * the memory taken by the model is not limited
+	 */
+	public boolean fitsMemoryBudget(long bytes) {
+		return memoryBudget == null || memoryBudget.fits(bytes);
+	}
+
+	/**
+	 * @return memory budget of the document, or null if the memory taken by
+	 * the model is not limited
+	 */
+	public MemoryBudget getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	/**
+	 * @return true if the model has exceeded its memory budget, so caches are
+	 * not used, content streams are parsed in streaming mode and glyphs are
+	 * not built
+	 */
+	public boolean isDegraded() {
+		return degraded;
+	}
+
+	/**
+	 * @return true if an embedded file of the document has been validated in
+	 * degraded mode, so its verdict may miss failed glyph checks
+	 */
+	public boolean isEmbeddedFilesDegraded() {
+		return embeddedFilesDegraded;
+	}
+
+	/**
+	 * Notifies the context that an embedded file of the document has been
+	 * validated in degraded mode
+	 */
+	public void embeddedFileDegraded() {
+		embeddedFilesDegraded = true;
+	}
+
+	/**
+	 * @param page page of the document
+	 * @return true if the validator is in the subtree of the page
+	 */
+	public boolean isCurrentPage(GFPDPage page) {
+		return page == currentPage;
+	}
+
+	/**
+	 * Notifies the context that the validator has reached the given page.
+	 * In page release mode the validator has finished the subtree of the
+	 * previous page at this point, so the previous page and the per page data
+	 * of the context are released. Memory charged while the previous page was
+	 * current is discharged, except for objects still kept by caches.
+	 *
+	 * @param page page which links are requested
+	 */
+	public void pageEntered(GFPDPage page) {
+		if (!config.isPageRelease() || page == currentPage) {
+			return;
+		}
+		if (currentPage != null) {
+			currentPage.release();
+			resolvedResources.clear();
+			for (GlyphCache glyphCache : glyphCaches.values()) {
+				glyphCache.releaseGlyphs();
+			}
+			long pageMemory = getPageMemory();
+			if (memoryBudget != null && pageMemory > 0) {
+				memoryBudget.discharge(pageMemory);
+			}
+		}
+		currentPage = page;
+		pageChargedMemory = 0;
+		pageRetainedMemory = 0;
+	}
+
+	/**
+	 * Releases resources of the context that outlive the validation, like
+	 * running tasks of the content stream preparser. Called when the parser
+	 * is closed or its context is replaced.
+	 */
+	public void release() {
+		if (contentStreamPreparser != null) {
+			contentStreamPreparser.cancel();
+			contentStreamPreparser = null;
+		}
+	}
+
+	private void enterDegradedMode() {
+		LOGGER.log(Level.WARNING, "Memory budget of the document is exceeded, switching to degraded mode. " +
+				"Glyphs of the rest of the document are not checked");
+		degraded = true;
+		release();
+		if (formXObjectCache != null) {
+			formXObjectCache.clear();
+			formXObjectCache = null;
+		}
+		glyphCaches.clear();
+		resolvedResources.clear();
+		colorSpaceCache.clear();
+		cidSetCache = null;
+	}
+}
@@ -1,71 +1,124 @@
 package org.verapdf.gf.model.impl.containers;
 
 import org.verapdf.as.ASAtom;
-import org.verapdf.cos.COSKey;
+import org.verapdf.gf.model.factory.colors.ColorSpaceCache;
 import org.verapdf.gf.model.impl.pd.colors.GFPDSeparation;
 import org.verapdf.gf.model.impl.pd.util.TaggedPDFRoleMapHelper;
-import org.verapdf.model.pdlayer.PDColorSpace;
+import org.verapdf.gf.model.impl.pd.util.XMPCache;
+import org.verapdf.gf.model.tools.FileSpecificationKeysHelper;
 import org.verapdf.pd.PDDocument;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
-import java.util.*;
+import java.util.Map;
+import java.util.Set;
 
 /**
+ * Entry point for model objects to the state of the document they belong to.
+ * The state itself lives in a {@link ModelContext} bound to the current
+ * thread, so every thread sees only the document it is validating.
+ *
  * @author Timur Kamalov
  */
 public class StaticContainers {
 
-	private static PDDocument document;
-	private static PDFAFlavour flavour;
+	private static final ThreadLocal<ModelContext> context = new ThreadLocal<>();
 
-	// TaggedPDF
-	public static TaggedPDFRoleMapHelper roleMapHelper;
+	private StaticContainers() {
+		// disable default constructor
+	}
 
-	//PBoxPDSeparation
-	public static Map<String, List<GFPDSeparation>> separations = new HashMap<>();
-	public static List<String> inconsistentSeparations = new ArrayList<>();
+	/**
+	 * @return context of the document validated by the current thread
+	 * @throws IllegalStateException if no context is bound to the current
+	 * thread
+	 */
+	public static ModelContext getContext() {
+		ModelContext current = context.get();
+		if (current == null) {
+			throw new IllegalStateException("No model context is bound to the current thread");
+		}
+		return current;
+	}
 
-	//ColorSpaceFactory
-	public static Map<String, PDColorSpace> cachedColorSpaces = new HashMap<>();
+	/**
+	 * Binds given context to the current thread
+	 *
+	 * @param modelContext context to bind, null value unbinds current context
+	 */
+	public static void setContext(ModelContext modelContext) {
+		if (modelContext == null) {
+			context.remove();
+		} else {
+			context.set(modelContext);
+		}
+	}
 
-	public static Set<COSKey> fileSpecificationKeys = new HashSet<>();
+	/**
+	 * Unbinds given context from the current thread if it is the bound one
+	 *
+	 * @param modelContext context to unbind
+	 */
+	public static void releaseContext(ModelContext modelContext) {
+		if (context.get() == modelContext) {
+			context.remove();
+		}
+	}
+
+	/**
+	 * Registers new model object in the context bound to the current thread
+	 *
+	 * @param object new model object
+	 * @see ModelContext#registerModelObject(Object)
+	 */
+	public static void registerModelObject(Object object) {
+		getContext().registerModelObject(object);
+	}
 
 	public static void clearAllContainers() {
-		if (document != null) {
-			document = null;
-		}
-		flavour = null;
-		roleMapHelper = null;
-		separations.clear();
-		inconsistentSeparations.clear();
-		cachedColorSpaces.clear();
-		fileSpecificationKeys.clear();
+		context.remove();
 	}
 
 	public static PDDocument getDocument() {
-		return document;
+		return getContext().getDocument();
 	}
 
 	public static void setDocument(PDDocument document) {
-		StaticContainers.document = document;
+		getContext().setDocument(document);
 	}
 
 	public static PDFAFlavour getFlavour() {
-		return flavour;
+		return getContext().getFlavour();
 	}
 
 	public static void setFlavour(PDFAFlavour flavour) {
-		StaticContainers.flavour = flavour;
-		if (roleMapHelper != null) {
-			roleMapHelper.setFlavour(flavour);
-		}
+		getContext().setFlavour(flavour);
 	}
 
 	public static TaggedPDFRoleMapHelper getRoleMapHelper() {
-		return roleMapHelper;
+		return getContext().getRoleMapHelper();
 	}
 
 	public static void setRoleMapHelper(Map<ASAtom, ASAtom> roleMap) {
-		StaticContainers.roleMapHelper = new TaggedPDFRoleMapHelper(roleMap, StaticContainers.flavour);
+		getContext().setRoleMapHelper(roleMap);
+	}
+
+	public static Map<String, GFPDSeparation.Fingerprint> getSeparations() {
+		return getContext().getSeparations();
+	}
+
+	public static Set<String> getInconsistentSeparations() {
+		return getContext().getInconsistentSeparations();
+	}
+
+	public static ColorSpaceCache getColorSpaceCache() {
+		return getContext().getColorSpaceCache();
+	}
+
+	public static FileSpecificationKeysHelper getFileSpecificationKeysHelper() {
+		return getContext().getFileSpecificationKeysHelper();
+	}
+
+	public static XMPCache getXMPCache() {
+		return getContext().getXMPCache();
 	}
 }
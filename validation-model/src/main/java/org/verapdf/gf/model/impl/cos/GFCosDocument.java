@@ -5,7 +5,6 @@ import org.verapdf.cos.*;
 import org.verapdf.gf.model.impl.containers.StaticContainers;
 import org.verapdf.gf.model.impl.pd.GFPDDocument;
 import org.verapdf.gf.model.impl.pd.util.XMPChecker;
-import org.verapdf.gf.model.tools.FileSpecificationKeysHelper;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.*;
 import org.verapdf.pd.PDNameTreeNode;
@@ -71,9 +70,6 @@ public class GFCosDocument extends GFCosObject implements CosDocument {
 		this.isLinearised = cosDocument.getTrailer() != cosDocument.getLastTrailer() && cosDocument.isLinearized();
 		this.lastID = getTrailerID(cosDocument.getLastTrailer().getKey(ASAtom.ID));
 		this.firstPageID = getTrailerID(cosDocument.getFirstTrailer().getKey(ASAtom.ID));
-		if (StaticContainers.getFlavour().getPart() == PDFAFlavour.Specification.ISO_19005_3) {
-			FileSpecificationKeysHelper.registerFileSpecificationKeys(cosDocument);
-		}
 	}
 
 	private boolean parseOptionalContentPresent() {
@@ -260,6 +256,10 @@ public class GFCosDocument extends GFCosObject implements CosDocument {
 		case TRAILER:
 			return this.getTrailer();
 		case INDIRECT_OBJECTS:
+			if (StaticContainers.getContext().getConfig().getPruning()
+					.isPruned(COS_DOCUMENT_TYPE, INDIRECT_OBJECTS)) {
+				return Collections.emptyList();
+			}
 			return this.getIndirectObjects();
 		case DOCUMENT:
 			return GFCosDocument.getDocument();
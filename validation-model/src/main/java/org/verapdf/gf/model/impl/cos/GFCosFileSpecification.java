@@ -8,6 +8,7 @@ import org.verapdf.gf.model.impl.external.GFEmbeddedFile;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosFileSpecification;
 import org.verapdf.model.external.EmbeddedFile;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -57,8 +58,10 @@ public class GFCosFileSpecification extends GFCosDict implements CosFileSpecific
 
 	@Override
 	public Boolean getisAssociatedFile() {
-		return Boolean.valueOf(this.baseObject != null
-				&& StaticContainers.fileSpecificationKeys.contains(this.baseObject.getObjectKey()));
+		PDFAFlavour flavour = StaticContainers.getFlavour();
+		return Boolean.valueOf(this.baseObject != null && flavour != null
+				&& flavour.getPart() == PDFAFlavour.Specification.ISO_19005_3
+				&& StaticContainers.getFileSpecificationKeysHelper().isFileSpecificationKey(this.baseObject.getObjectKey()));
 	}
 
 	@Override
@@ -12,12 +12,12 @@ public class GFCosNull extends GFCosObject implements CosNull {
 	public static final String COS_NULL_TYPE = "CosNull";
 
 	/**
-	 * PDF null object
+	 * PDF null object, shared by all documents
 	 */
-	private static CosNull NULL;
+	private static final CosNull NULL = new GFCosNull(COSNull.NULL);
 
 	private GFCosNull(COSNull nil) {
-		super(nil, COS_NULL_TYPE);
+		super(nil, COS_NULL_TYPE, false);
 	}
 
 	/**
@@ -25,7 +25,7 @@ public class GFCosNull extends GFCosObject implements CosNull {
 	 * @return PBCosNull object
 	 */
 	public static CosNull getInstance() {
-		return NULL == null ? NULL = new GFCosNull(COSNull.NULL) : NULL;
+		return NULL;
 	}
 
 }
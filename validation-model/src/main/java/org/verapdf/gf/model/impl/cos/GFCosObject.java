@@ -3,6 +3,7 @@ package org.verapdf.gf.model.impl.cos;
 import org.verapdf.cos.COSBase;
 import org.verapdf.cos.COSDocument;
 import org.verapdf.cos.COSIndirect;
+import org.verapdf.gf.model.impl.containers.StaticContainers;
 import org.verapdf.gf.model.visitor.cos.pb.GFCosVisitor;
 import org.verapdf.model.GenericModelObject;
 import org.verapdf.model.coslayer.CosObject;
@@ -19,18 +20,33 @@ public class GFCosObject extends GenericModelObject implements CosObject {
 
     protected GFCosObject(final String type) {
         super(type);
+        StaticContainers.registerModelObject(this);
         this.baseObject = null;
         this.cosDocument = null;
     }
 
     protected GFCosObject(final COSBase baseObject, final String type) {
+        this(baseObject, type, true);
+    }
+
+    /**
+     * @param baseObject object of the greenfield parser
+     * @param type       type of the model object
+     * @param register   false for objects shared by all documents, which
+     *                   are not registered with the context of any of them
+     */
+    protected GFCosObject(final COSBase baseObject, final String type, final boolean register) {
         super(type);
+        if (register) {
+            StaticContainers.registerModelObject(this);
+        }
         this.baseObject = baseObject;
         this.cosDocument = null;
     }
 
     protected GFCosObject(final COSDocument cosDocument, final String type) {
         super(type);
+        StaticContainers.registerModelObject(this);
         this.baseObject = null;
         this.cosDocument = cosDocument;
     }
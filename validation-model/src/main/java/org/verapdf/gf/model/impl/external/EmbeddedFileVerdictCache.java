@@ -0,0 +1,179 @@
+package org.verapdf.gf.model.impl.external;
+
+import org.verapdf.ReleaseDetails;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cache of validation verdicts of embedded files. Verdicts are identified by
+ * the SHA-256 digest of the decoded embedded file and the PDF/A flavour it
+ * has been validated against, so identical attachments of different documents
+ * are validated once. Verdicts are kept in memory and, if a directory is
+ * given, in files of its subdirectory named after the version of the
+ * validation model, so verdicts of another version are never used.
+ * <p>
+ * The cache may be shared by parsers working in different threads.
+ *
+ * @author Sergey Shemyakov
+ */
+public class EmbeddedFileVerdictCache {
+
+	private static final Logger LOGGER = Logger.getLogger(EmbeddedFileVerdictCache.class.getCanonicalName());
+
+	private static final ReleaseDetails greenfieldDetails = ReleaseDetails.addDetailsFromResource(
+			ReleaseDetails.APPLICATION_PROPERTIES_ROOT + "validation-model." + ReleaseDetails.PROPERTIES_EXT);
+
+	/**
+	 * Default number of verdicts held in memory
+	 */
+	public static final int DEFAULT_SIZE = 1024;
+
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+	private static final int BUFFER_SIZE = 8192;
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private static EmbeddedFileVerdictCache sharedInstance = null;
+
+	private final Map<String, Boolean> verdicts;
+	private final File directory;
+
+	/**
+	 * @param maxSize   maximal number of verdicts held in memory
+	 * @param directory directory to store verdicts in, or null if verdicts are
+	 *                  kept only in memory
+	 */
+	public EmbeddedFileVerdictCache(final int maxSize, File directory) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Verdict cache size should be positive");
+		}
+		this.verdicts = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+				return size() > maxSize;
+			}
+		};
+		this.directory = directory == null ? null : new File(directory, greenfieldDetails.getVersion());
+	}
+
+	/**
+	 * @return in-memory cache shared by all parsers of the process
+	 */
+	public static synchronized EmbeddedFileVerdictCache getSharedInstance() {
+		if (sharedInstance == null) {
+			sharedInstance = new EmbeddedFileVerdictCache(DEFAULT_SIZE, null);
+		}
+		return sharedInstance;
+	}
+
+	/**
+	 * Calculates digest of the embedded file. Given stream is read to the end.
+	 *
+	 * @param stream decoded embedded file
+	 * @return hex representation of the digest
+	 * @throws IOException if the stream can't be read
+	 */
+	public static String digest(InputStream stream) throws IOException {
+		MessageDigest messageDigest;
+		try {
+			messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(DIGEST_ALGORITHM + " is not supported", e);
+		}
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int read = stream.read(buffer);
+		while (read != -1) {
+			messageDigest.update(buffer, 0, read);
+			read = stream.read(buffer);
+		}
+		byte[] digest = messageDigest.digest();
+		char[] res = new char[digest.length * 2];
+		for (int i = 0; i < digest.length; ++i) {
+			res[2 * i] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+			res[2 * i + 1] = HEX_DIGITS[digest[i] & 0xF];
+		}
+		return new String(res);
+	}
+
+	/**
+	 * @param digest  digest of the embedded file
+	 * @param flavour flavour of validation
+	 * @return verdict of validation of the file against the flavour, or null if
+	 * the file has not been validated yet
+	 */
+	public synchronized Boolean getVerdict(String digest, PDFAFlavour flavour) {
+		String key = getKey(digest, flavour);
+		Boolean res = this.verdicts.get(key);
+		if (res == null && this.directory != null) {
+			res = readVerdict(key);
+			if (res != null) {
+				this.verdicts.put(key, res);
+			}
+		}
+		return res;
+	}
+
+	public synchronized void putVerdict(String digest, PDFAFlavour flavour, boolean verdict) {
+		String key = getKey(digest, flavour);
+		this.verdicts.put(key, Boolean.valueOf(verdict));
+		if (this.directory != null) {
+			writeVerdict(key, verdict);
+		}
+	}
+
+	private Boolean readVerdict(String key) {
+		Path file = new File(this.directory, key).toPath();
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+		try {
+			String value = new String(Files.readAllBytes(file), StandardCharsets.US_ASCII).trim();
+			return Boolean.valueOf(value);
+		} catch (IOException e) {
+			LOGGER.log(Level.FINE, "Can't read embedded file verdict " + file, e);
+			return null;
+		}
+	}
+
+	private void writeVerdict(String key, boolean verdict) {
+		Path temp = null;
+		try {
+			Path dir = this.directory.toPath();
+			Files.createDirectories(dir);
+			temp = Files.createTempFile(dir, key, ".tmp");
+			Files.write(temp, String.valueOf(verdict).getBytes(StandardCharsets.US_ASCII));
+			Files.move(temp, dir.resolve(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			temp = null;
+		} catch (IOException e) {
+			LOGGER.log(Level.FINE, "Can't store embedded file verdict " + key, e);
+		} finally {
+			if (temp != null) {
+				deleteTemporaryFile(temp);
+			}
+		}
+	}
+
+	private static void deleteTemporaryFile(Path temp) {
+		try {
+			Files.deleteIfExists(temp);
+		} catch (IOException e) {
+			LOGGER.log(Level.FINE, "Can't delete temporary file " + temp, e);
+		}
+	}
+
+	private static String getKey(String digest, PDFAFlavour flavour) {
+		return digest + '-' + flavour.getId();
+	}
+}
@@ -2,26 +2,21 @@ package org.verapdf.gf.model.impl.external;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.verapdf.as.ASAtom;
 import org.verapdf.core.VeraPDFException;
 import org.verapdf.cos.COSDictionary;
-import org.verapdf.cos.COSKey;
 import org.verapdf.cos.COSObjType;
 import org.verapdf.cos.COSObject;
 import org.verapdf.cos.COSStream;
 import org.verapdf.gf.model.GFModelParser;
+import org.verapdf.gf.model.MemoryBudgetExceededException;
+import org.verapdf.gf.model.ModelParserConfig;
+import org.verapdf.gf.model.impl.containers.ModelContext;
 import org.verapdf.gf.model.impl.containers.StaticContainers;
-import org.verapdf.gf.model.impl.pd.colors.GFPDSeparation;
-import org.verapdf.gf.model.impl.pd.util.TaggedPDFRoleMapHelper;
 import org.verapdf.model.external.EmbeddedFile;
-import org.verapdf.model.pdlayer.PDColorSpace;
-import org.verapdf.pd.PDDocument;
 import org.verapdf.pdfa.PDFAValidator;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 import org.verapdf.pdfa.results.ValidationResult;
@@ -37,6 +32,8 @@ public class GFEmbeddedFile extends GFExternal implements EmbeddedFile {
 	/** Type name for {@code PBoxEmbeddedFile} */
 	public static final String EMBEDDED_FILE_TYPE = "EmbeddedFile";
 
+	private static final PDFAFlavour[] EMBEDDED_FILE_FLAVOURS = {PDFAFlavour.PDFA_1_B, PDFAFlavour.PDFA_2_B};
+
 	private final COSStream stream;
 
 	public GFEmbeddedFile(COSDictionary dictionary) {
@@ -64,58 +61,86 @@ public class GFEmbeddedFile extends GFExternal implements EmbeddedFile {
 			return Boolean.TRUE;
 		}
 		boolean retVal = false;
-		saveStaticContainersState();
+		ModelContext parentContext = StaticContainers.getContext();
+		ModelParserConfig config = createEmbeddedFileConfig(parentContext.getConfig());
 		try (InputStream unfilteredStream = stream.getData(COSStream.FilterFlags.DECODE)) {
-			retVal = isValidPdfaStream(unfilteredStream, PDFAFlavour.PDFA_1_B);
-			if (!retVal) {
+			String digest = null;
+			if (config.getEmbeddedFileVerdictCache() != null) {
+				digest = EmbeddedFileVerdictCache.digest(unfilteredStream);
 				unfilteredStream.reset();
-				retVal = isValidPdfaStream(unfilteredStream, PDFAFlavour.PDFA_2_B);
 			}
+			retVal = isValidPdfaStream(unfilteredStream, config, digest, parentContext);
 		} catch (VeraPDFException | IOException e) {
 			LOGGER.log(Level.FINE, "Exception during validation of embedded file", e);
+		} catch (MemoryBudgetExceededException e) {
+			LOGGER.log(Level.FINE, "Embedded file doesn't fit into the memory budget", e.getModelParsingException());
+		} finally {
+			StaticContainers.setContext(parentContext);
 		}
-		restoreSavedSCState();
 		return Boolean.valueOf(retVal);
 	}
 
-	private static boolean isValidPdfaStream(final InputStream toValidate, final PDFAFlavour flavour)
-			throws VeraPDFException {
-		try (GFModelParser parser = GFModelParser.createModelWithFlavour(toValidate, flavour)) {
-			PDFAValidator validator1b = ValidatorFactory.createValidator(flavour, false, 1);
-			ValidationResult result1b = validator1b.validate(parser);
-			parser.close();
-			return result1b.isCompliant();
+	/**
+	 * Validates the embedded file against PDF/A-1b and, if it is not compliant,
+	 * against PDF/A-2b. The file is parsed once for both validations and is not
+	 * parsed at all if both verdicts are known. Verdicts obtained in degraded
+	 * mode are not cached, as glyphs of the file have not been checked.
+	 */
+	private static boolean isValidPdfaStream(final InputStream toValidate, final ModelParserConfig config,
+			final String digest, final ModelContext parentContext) throws VeraPDFException {
+		GFModelParser parser = null;
+		try {
+			for (PDFAFlavour flavour : EMBEDDED_FILE_FLAVOURS) {
+				Boolean verdict = getCachedVerdict(config, digest, flavour);
+				if (verdict == null) {
+					if (parser == null) {
+						parser = GFModelParser.createModelWithFlavour(toValidate, flavour, config);
+					} else {
+						parser.setFlavour(flavour);
+					}
+					PDFAValidator validator = ValidatorFactory.createValidator(flavour, false, 1);
+					ValidationResult result = validator.validate(parser);
+					verdict = Boolean.valueOf(result.isCompliant());
+					if (parser.isDegraded()) {
+						parentContext.embeddedFileDegraded();
+					} else if (digest != null) {
+						config.getEmbeddedFileVerdictCache().putVerdict(digest, flavour, verdict.booleanValue());
+					}
+				}
+				if (verdict.booleanValue()) {
+					return true;
+				}
+			}
+			return false;
+		} finally {
+			if (parser != null) {
+				parser.close();
+			}
 		}
 	}
 
-	// We need to save data from StaticContainers before validating embedded
-	// documents
-	private PDDocument document;
-	private PDFAFlavour flavour;
-	public TaggedPDFRoleMapHelper roleMapHelper;
-	public Map<String, List<GFPDSeparation>> separations;
-	public List<String> inconsistentSeparations;
-	public Map<String, PDColorSpace> cachedColorSpaces;
-	public static Set<COSKey> fileSpecificationKeys;
-
-	private void saveStaticContainersState() {
-		this.document = StaticContainers.getDocument();
-		this.flavour = StaticContainers.getFlavour();
-		this.separations = StaticContainers.separations;
-		this.inconsistentSeparations = StaticContainers.inconsistentSeparations;
-		this.cachedColorSpaces = StaticContainers.cachedColorSpaces;
-		this.roleMapHelper = StaticContainers.roleMapHelper;
-		GFEmbeddedFile.fileSpecificationKeys = StaticContainers.fileSpecificationKeys;
+	/**
+	 * Creates configuration of the parser of embedded files. Verdicts are
+	 * cached by the digest and the flavour only, so the model of an embedded
+	 * file is always built in full, regardless of the pruning and other modes
+	 * chosen for the parent document. Only the verdict cache and the memory
+	 * budget are taken from the parent configuration.
+	 */
+	private static ModelParserConfig createEmbeddedFileConfig(ModelParserConfig parentConfig) {
+		ModelParserConfig res = ModelParserConfig.defaultConfig()
+				.setEmbeddedFileVerdictCache(parentConfig.getEmbeddedFileVerdictCache())
+				.setMemoryBudget(parentConfig.getMemoryBudget());
+		if (parentConfig.getMemoryBudget() > 0) {
+			res.setDegradedModeReserve(parentConfig.getDegradedModeReserve());
+		}
+		return res;
 	}
 
-	private void restoreSavedSCState() {
-		StaticContainers.setDocument(this.document);
-		StaticContainers.setFlavour(this.flavour);
-		StaticContainers.separations = this.separations;
-		StaticContainers.inconsistentSeparations = this.inconsistentSeparations;
-		StaticContainers.cachedColorSpaces = this.cachedColorSpaces;
-		StaticContainers.roleMapHelper = this.roleMapHelper;
-		StaticContainers.fileSpecificationKeys = GFEmbeddedFile.fileSpecificationKeys;
+	private static Boolean getCachedVerdict(ModelParserConfig config, String digest, PDFAFlavour flavour) {
+		if (digest == null) {
+			return null;
+		}
+		return config.getEmbeddedFileVerdictCache().getVerdict(digest, flavour);
 	}
 
 }
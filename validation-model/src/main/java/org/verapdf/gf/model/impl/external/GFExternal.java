@@ -1,5 +1,6 @@
 package org.verapdf.gf.model.impl.external;
 
+import org.verapdf.gf.model.impl.containers.StaticContainers;
 import org.verapdf.model.GenericModelObject;
 import org.verapdf.model.external.External;
 
@@ -11,6 +12,7 @@ public class GFExternal extends GenericModelObject implements External  {
 
     protected GFExternal(String type) {
         super(type);
+        StaticContainers.registerModelObject(this);
     }
 
 }
@@ -31,9 +31,12 @@ public class GFTrueTypeFontProgram extends GFFontProgram implements TrueTypeFont
             if (trueTypeFont instanceof OpenTypeFontProgram) {
                 this.trueTypeFont = (org.verapdf.pd.font.truetype.TrueTypeFontProgram)
                         ((OpenTypeFontProgram) trueTypeFont).getFont();
+            } else {
+                this.trueTypeFont = (org.verapdf.pd.font.truetype.TrueTypeFontProgram) trueTypeFont;
+            }
+            if (!this.trueTypeFont.isAttemptedParsing()) {
+                this.trueTypeFont.parseFont();
             }
-            this.trueTypeFont = (org.verapdf.pd.font.truetype.TrueTypeFontProgram) trueTypeFont;
-            this.trueTypeFont.parseFont();
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Error in parsing embedded True Type font file", e);
         }
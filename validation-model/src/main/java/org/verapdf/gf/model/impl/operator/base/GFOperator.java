@@ -9,6 +9,7 @@ import org.verapdf.cos.COSBase;
 import org.verapdf.cos.COSInteger;
 import org.verapdf.cos.COSObjType;
 import org.verapdf.cos.COSObject;
+import org.verapdf.gf.model.impl.containers.StaticContainers;
 import org.verapdf.gf.model.impl.cos.GFCosInteger;
 import org.verapdf.gf.model.impl.cos.GFCosNumber;
 import org.verapdf.model.GenericModelObject;
@@ -27,6 +28,7 @@ public class GFOperator extends GenericModelObject implements Operator {
 
 	protected GFOperator(List<COSBase> arguments, final String opType) {
 		super(opType);
+		StaticContainers.registerModelObject(this);
 		this.arguments = arguments;
 	}
 
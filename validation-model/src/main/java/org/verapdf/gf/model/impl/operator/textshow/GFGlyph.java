@@ -1,14 +1,11 @@
 package org.verapdf.gf.model.impl.operator.textshow;
 
+import org.verapdf.gf.model.impl.containers.StaticContainers;
 import org.verapdf.gf.model.tools.GFIDGenerator;
 import org.verapdf.model.GenericModelObject;
 import org.verapdf.model.operator.Glyph;
 import org.verapdf.pd.font.*;
 
-import java.io.IOException;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-
 /**
  * Represents glyph used in text.
  *
@@ -16,8 +13,6 @@ import java.util.logging.Logger;
  */
 public class GFGlyph extends GenericModelObject implements Glyph {
 
-    private static final Logger LOGGER = Logger.getLogger(GFGlyph.class.getCanonicalName());
-
     public final static String GLYPH_TYPE = "Glyph";
     private final String id;
 
@@ -33,6 +28,7 @@ public class GFGlyph extends GenericModelObject implements Glyph {
 
     public GFGlyph(Boolean glyphPresent, Boolean widthsConsistent, PDFont font, int glyphCode, String type, int renderingMode) {
         super(type);
+        StaticContainers.registerModelObject(this);
         this.glyphPresent = glyphPresent;
         this.widthsConsistent = widthsConsistent;
         this.renderingMode = Long.valueOf(renderingMode);
@@ -41,20 +37,11 @@ public class GFGlyph extends GenericModelObject implements Glyph {
             Encoding encoding = font.getEncodingMapping();
             this.name = encoding == null ? null : encoding.getName(glyphCode);
         } else if (font instanceof PDType0Font) {
-            try {
-                FontProgram pr = font.getFontProgram();
-                if (pr == null) {
-                    this.name = null;
-                } else {
-                    pr.parseFont();
-                    if (glyphCode == 0 || !pr.containsCode(glyphCode)) {
-                        this.name = ".notdef";
-                    } else {
-                        this.name = null;
-                    }
-                }
-            } catch (IOException e) {
-                LOGGER.log(Level.FINE, "Can't convert code to glyph", e);
+            FontProgram pr = StaticContainers.getContext().getFontProgramRegistry().getFontProgram(font);
+            // glyph name is unknown if the font program can't be parsed
+            if (pr != null && pr.isSuccessfulParsing() && (glyphCode == 0 || !pr.containsCode(glyphCode))) {
+                this.name = ".notdef";
+            } else {
                 this.name = null;
             }
         }
@@ -6,6 +6,7 @@ import org.verapdf.gf.model.factory.colors.ColorSpaceFactory;
 import org.verapdf.gf.model.factory.fonts.FontFactory;
 import org.verapdf.gf.model.factory.operators.GraphicState;
 import org.verapdf.gf.model.factory.operators.RenderingMode;
+import org.verapdf.gf.model.impl.containers.StaticContainers;
 import org.verapdf.gf.model.impl.operator.base.GFOperator;
 import org.verapdf.gf.model.impl.pd.util.PDResourcesHandler;
 import org.verapdf.model.baselayer.Object;
@@ -48,6 +49,8 @@ public abstract class GFOpTextShow extends GFOperator implements OpTextShow {
 	 */
 	public static final String STROKE_COLOR_SPACE = "strokeCS";
 
+	private static final String OP_TEXT_SHOW_TYPE = "OpTextShow";
+
 	private final PDColorSpace rawFillColorSpace;
 	private final PDColorSpace rawStrokeColorSpace;
 
@@ -93,6 +96,9 @@ public abstract class GFOpTextShow extends GFOperator implements OpTextShow {
 		case FONT:
 			return this.getFont();
 		case USED_GLYPHS:
+			if (StaticContainers.getContext().getConfig().getPruning().isPruned(OP_TEXT_SHOW_TYPE, USED_GLYPHS)) {
+				return Collections.emptyList();
+			}
 			return this.getUsedGlyphs();
 		case FILL_COLOR_SPACE:
 			return this.getFillColorSpace();
@@ -118,47 +124,31 @@ public abstract class GFOpTextShow extends GFOperator implements OpTextShow {
 	}
 
 	private List<Glyph> getUsedGlyphs() {
+		if (StaticContainers.getContext().isDegraded()) {
+			return Collections.emptyList();
+		}
 		org.verapdf.pd.font.PDFont font = getFontFromResources();
 		if (font == null) {
 			return Collections.emptyList();
 		}
-		FontProgram fontProgram = font.getFontProgram();
-		boolean fontProgramIsInvalid = (fontProgram == null || !font.isSuccessfullyParsed())
-				&& font.getSubtype() != ASAtom.TYPE3;
+		GlyphCache glyphCache = StaticContainers.getContext().getGlyphCache(font);
+		int renderingModeValue = this.renderingMode.getValue();
 
 		List<Glyph> res = new ArrayList<>();
+		Set<Glyph> usedGlyphs = Collections.newSetFromMap(new IdentityHashMap<Glyph, Boolean>());
 		List<byte[]> strings = GFOpTextShow.getStrings(this.arguments);
 		for (byte[] string : strings) {
 			try (InputStream inputStream = new ByteArrayInputStream(string)) {
 				while (inputStream.available() > 0) {
 					int code = font.readCode(inputStream);
-					if (font.getSubtype() != ASAtom.TYPE3) {
-						Boolean glyphPresent = null;
-						Boolean widthsConsistent = null;
-						if (!fontProgramIsInvalid) {
-							fontProgram.parseFont();
-							// every font contains notdef glyph. But if we call method
-							// of font program we can't distinguish case of code 0
-							// and glyph that is not present indeed.
-							glyphPresent = code == 0 ? true :
-									Boolean.valueOf(fontProgram.containsCode(code));
-							widthsConsistent = GFOpTextShow.checkWidths(code, font, fontProgram);
-						}
-						GFGlyph glyph;
-						if (font.getSubtype() == ASAtom.CID_FONT_TYPE0 || font.getSubtype() == ASAtom.CID_FONT_TYPE2) {
-							int CID = ((PDType0Font) font).toCID(code);
-							glyph = new GFCIDGlyph(glyphPresent, widthsConsistent, font, code, CID,
-									this.renderingMode.getValue());
-						} else {
-							glyph = new GFGlyph(glyphPresent, widthsConsistent, font, code,
-									this.renderingMode.getValue());
-						}
+					GFGlyph glyph = glyphCache.getGlyph(code, renderingModeValue);
+					if (glyph == null) {
+						glyph = createGlyph(font, code, renderingModeValue, glyphCache);
+						glyphCache.putGlyph(code, renderingModeValue, glyph);
+					}
+					// the same glyph used several times by the operator is checked once
+					if (usedGlyphs.add(glyph)) {
 						res.add(glyph);
-					} else { // Type3 font
-						boolean glyphPresent = ((PDType3Font) font).containsCharString(code);
-						boolean widthConsistent = font.getWidth(code) != null && font.getWidth(code).doubleValue() > 0;
-						res.add(new GFGlyph(Boolean.valueOf(glyphPresent), Boolean.valueOf(widthConsistent), font, code,
-								this.renderingMode.getValue()));
 					}
 				}
 			} catch (IOException e) {
@@ -170,6 +160,43 @@ public abstract class GFOpTextShow extends GFOperator implements OpTextShow {
 
 	}
 
+	private static GFGlyph createGlyph(org.verapdf.pd.font.PDFont font, int code, int renderingMode,
+									   GlyphCache glyphCache) throws IOException {
+		if (!glyphCache.containsVerdicts(code)) {
+			computeVerdicts(font, code, glyphCache);
+		}
+		Boolean glyphPresent = glyphCache.isGlyphPresent(code);
+		Boolean widthsConsistent = glyphCache.isWidthsConsistent(code);
+		if (font.getSubtype() == ASAtom.CID_FONT_TYPE0 || font.getSubtype() == ASAtom.CID_FONT_TYPE2) {
+			int CID = ((PDType0Font) font).toCID(code);
+			return new GFCIDGlyph(glyphPresent, widthsConsistent, font, code, CID, renderingMode);
+		}
+		return new GFGlyph(glyphPresent, widthsConsistent, font, code, renderingMode);
+	}
+
+	private static void computeVerdicts(org.verapdf.pd.font.PDFont font, int code,
+										GlyphCache glyphCache) throws IOException {
+		if (font.getSubtype() != ASAtom.TYPE3) {
+			FontProgram fontProgram = StaticContainers.getContext().getFontProgramRegistry().getFontProgram(font);
+			boolean fontProgramIsInvalid = fontProgram == null || !font.isSuccessfullyParsed();
+			Boolean glyphPresent = null;
+			Boolean widthsConsistent = null;
+			if (!fontProgramIsInvalid) {
+				// every font contains notdef glyph. But if we call method
+				// of font program we can't distinguish case of code 0
+				// and glyph that is not present indeed.
+				glyphPresent = code == 0 ? true :
+						Boolean.valueOf(fontProgram.containsCode(code));
+				widthsConsistent = GFOpTextShow.checkWidths(code, font, fontProgram);
+			}
+			glyphCache.putVerdicts(code, glyphPresent, widthsConsistent);
+		} else {
+			boolean glyphPresent = ((PDType3Font) font).containsCharString(code);
+			boolean widthConsistent = font.getWidth(code) != null && font.getWidth(code).doubleValue() > 0;
+			glyphCache.putVerdicts(code, Boolean.valueOf(glyphPresent), Boolean.valueOf(widthConsistent));
+		}
+	}
+
 	private List<org.verapdf.model.pdlayer.PDColorSpace> getFillColorSpace() {
 		if (this.fillCS == null) {
 			this.fillCS = parseFillColorSpace();
@@ -0,0 +1,166 @@
+package org.verapdf.gf.model.impl.operator.textshow;
+
+/**
+ * Per font storage of glyph checks results. For every character code it keeps
+ * whether the glyph is present in the font program and whether its widths are
+ * consistent, and it keeps glyph objects created for the code and rendering
+ * mode, so repeated usage of the same glyph does not repeat the checks.
+ * <p>
+ * Glyph identifiers depend only on the font, the code and the rendering mode,
+ * so the same glyph object can be shared by all text show operators.
+ *
+ * @author Sergey Shemyakov
+ */
+public class GlyphCache {
+
+	private static final byte UNKNOWN = 0;
+	private static final byte TRUE = 1;
+	private static final byte FALSE = 2;
+
+	private static final int RENDERING_MODE_BITS = 3;
+
+	private final LongTable verdicts = new LongTable();
+	private final LongTable glyphs = new LongTable();
+
+	/**
+	 * @param code character code
+	 * @return true if verdicts for the code have been stored
+	 */
+	public boolean containsVerdicts(int code) {
+		return this.verdicts.get(code) != null;
+	}
+
+	/**
+	 * @param code character code
+	 * @return stored presence of the glyph, null if it can't be determined
+	 */
+	public Boolean isGlyphPresent(int code) {
+		Byte value = (Byte) this.verdicts.get(code);
+		return value == null ? null : fromBits(value.byteValue() & 0x3);
+	}
+
+	/**
+	 * @param code character code
+	 * @return stored consistency of the glyph widths, null if it can't be determined
+	 */
+	public Boolean isWidthsConsistent(int code) {
+		Byte value = (Byte) this.verdicts.get(code);
+		return value == null ? null : fromBits((value.byteValue() >> 2) & 0x3);
+	}
+
+	public void putVerdicts(int code, Boolean glyphPresent, Boolean widthsConsistent) {
+		int value = toBits(glyphPresent) | (toBits(widthsConsistent) << 2);
+		this.verdicts.put(code, Byte.valueOf((byte) value));
+	}
+
+	/**
+	 * @param code          character code
+	 * @param renderingMode text rendering mode
+	 * @return glyph object created earlier for the code and rendering mode or null
+	 */
+	public GFGlyph getGlyph(int code, int renderingMode) {
+		return (GFGlyph) this.glyphs.get(glyphKey(code, renderingMode));
+	}
+
+	public void putGlyph(int code, int renderingMode, GFGlyph glyph) {
+		this.glyphs.put(glyphKey(code, renderingMode), glyph);
+	}
+
+	/**
+	 * Drops glyph objects, while verdicts for the codes are kept
+	 */
+	public void releaseGlyphs() {
+		this.glyphs.clear();
+	}
+
+	private static long glyphKey(int code, int renderingMode) {
+		return ((code & 0xFFFFFFFFL) << RENDERING_MODE_BITS) | (renderingMode & ((1 << RENDERING_MODE_BITS) - 1));
+	}
+
+	private static int toBits(Boolean value) {
+		if (value == null) {
+			return UNKNOWN;
+		}
+		return value.booleanValue() ? TRUE : FALSE;
+	}
+
+	private static Boolean fromBits(int bits) {
+		switch (bits) {
+			case TRUE:
+				return Boolean.TRUE;
+			case FALSE:
+				return Boolean.FALSE;
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Open addressing hash table with primitive long keys
+	 */
+	private static class LongTable {
+
+		private static final int INITIAL_CAPACITY = 64;
+
+		private long[] keys = new long[INITIAL_CAPACITY];
+		private Object[] values = new Object[INITIAL_CAPACITY];
+		private int size = 0;
+
+		Object get(long key) {
+			int mask = this.keys.length - 1;
+			for (int i = index(key, mask); this.values[i] != null; i = (i + 1) & mask) {
+				if (this.keys[i] == key) {
+					return this.values[i];
+				}
+			}
+			return null;
+		}
+
+		void put(long key, Object value) {
+			if ((this.size + 1) * 2 > this.keys.length) {
+				resize();
+			}
+			int mask = this.keys.length - 1;
+			int i = index(key, mask);
+			while (this.values[i] != null) {
+				if (this.keys[i] == key) {
+					this.values[i] = value;
+					return;
+				}
+				i = (i + 1) & mask;
+			}
+			this.keys[i] = key;
+			this.values[i] = value;
+			++this.size;
+		}
+
+		void clear() {
+			this.keys = new long[INITIAL_CAPACITY];
+			this.values = new Object[INITIAL_CAPACITY];
+			this.size = 0;
+		}
+
+		private void resize() {
+			long[] oldKeys = this.keys;
+			Object[] oldValues = this.values;
+			this.keys = new long[oldKeys.length * 2];
+			this.values = new Object[oldValues.length * 2];
+			int mask = this.keys.length - 1;
+			for (int j = 0; j < oldKeys.length; ++j) {
+				if (oldValues[j] != null) {
+					int i = index(oldKeys[j], mask);
+					while (this.values[i] != null) {
+						i = (i + 1) & mask;
+					}
+					this.keys[i] = oldKeys[j];
+					this.values[i] = oldValues[j];
+				}
+			}
+		}
+
+		private static int index(long key, int mask) {
+			long h = key * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ (h >>> 32)) & mask;
+		}
+	}
+}
@@ -5,7 +5,12 @@ import org.verapdf.as.io.ASInputStream;
 import org.verapdf.cos.COSObjType;
 import org.verapdf.cos.COSObject;
 import org.verapdf.cos.COSStream;
+import org.verapdf.gf.model.ModelParserConfig;
 import org.verapdf.gf.model.factory.operators.OperatorFactory;
+import org.verapdf.gf.model.impl.containers.MemoryBudget;
+import org.verapdf.gf.model.impl.containers.ModelContext;
+import org.verapdf.gf.model.impl.containers.StaticContainers;
+import org.verapdf.gf.model.impl.pd.util.ContentStreamPreparser;
 import org.verapdf.gf.model.impl.pd.util.PDResourcesHandler;
 import org.verapdf.model.operator.Operator;
 import org.verapdf.model.pdlayer.PDContentStream;
@@ -41,6 +46,9 @@ public class GFPDContentStream extends GFPDObject implements PDContentStream {
 	@Override
 	public List<? extends org.verapdf.model.baselayer.Object> getLinkedObjects(String link) {
 		if (OPERATORS.equals(link)) {
+			if (StaticContainers.getContext().getConfig().getPruning().isPruned(CONTENT_STREAM_TYPE, OPERATORS)) {
+				return Collections.emptyList();
+			}
 			return this.getOperators();
 		}
 		return super.getLinkedObjects(link);
@@ -59,16 +67,32 @@ public class GFPDContentStream extends GFPDObject implements PDContentStream {
 		} else {
 			try {
 				COSObject contentStream = this.contentStream.getContents();
-				if (!contentStream.empty() && contentStream.getType() == COSObjType.COS_STREAM) {
-					ASInputStream opStream = contentStream.getDirectBase().getData(COSStream.FilterFlags.DECODE);
+				List<Object> preparsedTokens = getPreparsedTokens(contentStream);
+				if (preparsedTokens != null) {
+					parseOperators(preparsedTokens);
+				} else if (!contentStream.empty() && contentStream.getType() == COSObjType.COS_STREAM) {
+					ModelContext context = StaticContainers.getContext();
+					ModelParserConfig config = context.getConfig();
+					COSStream stream = (COSStream) contentStream.getDirectBase();
+					// decoded data is charged before the stream is read, so a stream that can't fit
+					// aborts the document instead of the process
+					long decodedSize = MemoryBudget.estimateDecodedSize(stream);
+					boolean isStreaming = config.isStreamingContentParsing() || context.isDegraded() ||
+							!context.fitsMemoryBudget(decodedSize + MemoryBudget.estimateTokensSize(decodedSize));
+					context.chargeMemory(decodedSize);
+					ASInputStream opStream = stream.getData(COSStream.FilterFlags.DECODE);
 					PDFStreamParser streamParser = new PDFStreamParser(opStream);
 					opStream.close();
 					try {
-						streamParser.parseTokens();
-						OperatorFactory operatorFactory = new OperatorFactory();
-						List<Operator> result = operatorFactory.operatorsFromTokens(streamParser.getTokens(), resourcesHandler);
-						this.containsTransparency = operatorFactory.isLastParsedContainsTransparency();
-						this.operators = Collections.unmodifiableList(result);
+						if (isStreaming || context.isDegraded()) {
+							OperatorFactory operatorFactory = new OperatorFactory();
+							List<Operator> result = operatorFactory.operatorsFromStream(streamParser,
+									resourcesHandler, config.getMaxOperatorArguments());
+							setOperators(result, operatorFactory);
+						} else {
+							streamParser.parseTokens();
+							parseOperators(streamParser.getTokens());
+						}
 					} finally {
 						streamParser.closeInputStream();
 					}
@@ -82,6 +106,27 @@ public class GFPDContentStream extends GFPDObject implements PDContentStream {
 		}
 	}
 
+	private void parseOperators(List<Object> tokens) {
+		ModelContext context = StaticContainers.getContext();
+		context.chargeMemory(tokens.size() * MemoryBudget.TOKEN_SIZE);
+		OperatorFactory operatorFactory = new OperatorFactory();
+		List<Operator> result = operatorFactory.operatorsFromTokens(tokens, resourcesHandler);
+		setOperators(result, operatorFactory);
+	}
+
+	private void setOperators(List<Operator> result, OperatorFactory operatorFactory) {
+		this.containsTransparency = operatorFactory.isLastParsedContainsTransparency();
+		this.operators = Collections.unmodifiableList(result);
+	}
+
+	private static List<Object> getPreparsedTokens(COSObject contentStream) {
+		ContentStreamPreparser preparser = StaticContainers.getContext().getContentStreamPreparser();
+		if (preparser == null || contentStream.empty() || contentStream.getType() != COSObjType.COS_STREAM) {
+			return null;
+		}
+		return preparser.takeTokens(contentStream.getDirectBase());
+	}
+
 	public boolean isContainsTransparency() {
 		if (this.operators == null) {
 			parseOperators();
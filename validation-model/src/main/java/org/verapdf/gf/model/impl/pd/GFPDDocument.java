@@ -4,10 +4,13 @@ import org.verapdf.as.ASAtom;
 import org.verapdf.cos.COSObjType;
 import org.verapdf.cos.COSObject;
 import org.verapdf.cos.COSString;
+import org.verapdf.gf.model.ModelParserConfig;
+import org.verapdf.gf.model.impl.containers.ModelContext;
 import org.verapdf.gf.model.impl.containers.StaticContainers;
 import org.verapdf.gf.model.impl.cos.GFCosLang;
 import org.verapdf.gf.model.impl.pd.actions.GFPDAction;
 import org.verapdf.gf.model.impl.pd.signature.GFPDPerms;
+import org.verapdf.gf.model.impl.pd.util.ContentStreamPreparser;
 import org.verapdf.gf.model.tools.OutlinesHelper;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosLang;
@@ -188,9 +191,15 @@ public class GFPDDocument extends GFPDObject implements PDDocument {
     private static List<PDPage> getPages() {
         try {
             List<PDPage> result = new ArrayList<>();
-            List<org.verapdf.pd.PDPage> rawPages = StaticContainers.getDocument().getPages();
-            for (org.verapdf.pd.PDPage rawPage : rawPages) {
-                result.add(new GFPDPage(rawPage));
+            ModelContext context = StaticContainers.getContext();
+            List<org.verapdf.pd.PDPage> rawPages = context.getDocument().getPages();
+            ModelParserConfig config = context.getConfig();
+            if (config.isParallelContentParsing() && !config.isStreamingContentParsing()) {
+                context.setContentStreamPreparser(new ContentStreamPreparser(rawPages,
+                        config.getPageWindow(), config.getContentParsingPool()));
+            }
+            for (int i = 0; i < rawPages.size(); ++i) {
+                result.add(new GFPDPage(rawPages.get(i), i));
             }
             return result;
         } catch (Exception e) {
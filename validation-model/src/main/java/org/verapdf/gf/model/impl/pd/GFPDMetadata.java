@@ -7,6 +7,7 @@ import org.verapdf.as.ASAtom;
 import org.verapdf.cos.COSStream;
 import org.verapdf.gf.model.impl.containers.StaticContainers;
 import org.verapdf.gf.model.impl.cos.GFCosStream;
+import org.verapdf.gf.model.impl.pd.util.XMPCache;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosStream;
 import org.verapdf.model.impl.axl.AXLMainXMPPackage;
@@ -16,7 +17,6 @@ import org.verapdf.model.xmplayer.XMPPackage;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -82,16 +82,16 @@ public class GFPDMetadata extends GFPDObject implements PDMetadata {
     private List<XMPPackage> getXMPPackage() {
         List<XMPPackage> xmp = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
         PDFAFlavour flavour = StaticContainers.getFlavour();
-        try (InputStream stream = ((org.verapdf.pd.PDMetadata) this.simplePDObject).getStream()) {
-            if (stream != null) {
-                VeraPDFMeta metadata = VeraPDFMeta.parse(stream);
+        try {
+            XMPCache xmpCache = StaticContainers.getXMPCache();
+            VeraPDFMeta metadata = xmpCache.getMetadata((org.verapdf.pd.PDMetadata) this.simplePDObject);
+            if (metadata != null) {
                 if (isMainMetadata) {
                     xmp.add(new AXLMainXMPPackage(metadata, true, flavour));
                 } else if (flavour == null || !PDFAFlavour.Specification.ISO_19005_1.equals(flavour.getPart())) {
                     VeraPDFXMPNode mainExtensionNode = null;
-                    InputStream mainStream = mainMetadata.getStream();
-                    if (mainStream != null) {
-                        VeraPDFMeta mainMeta = VeraPDFMeta.parse(mainStream);
+                    VeraPDFMeta mainMeta = mainMetadata == null ? null : xmpCache.getMetadata(mainMetadata);
+                    if (mainMeta != null) {
                         mainExtensionNode = mainMeta.getExtensionSchemasNode();
                     }
                     xmp.add(new AXLXMPPackage(metadata, true, mainExtensionNode, flavour));
@@ -2,6 +2,7 @@ package org.verapdf.gf.model.impl.pd;
 
 import org.verapdf.cos.COSKey;
 import org.verapdf.cos.COSObject;
+import org.verapdf.gf.model.impl.containers.StaticContainers;
 import org.verapdf.gf.model.impl.pd.actions.GFPDAction;
 import org.verapdf.gf.model.tools.GFIDGenerator;
 import org.verapdf.model.GenericModelObject;
@@ -32,11 +33,13 @@ public class GFPDObject extends GenericModelObject implements PDObject {
 
 	public GFPDObject(PDDocument document, final String type) {
 		super(type);
+		StaticContainers.registerModelObject(this);
 		this.document = document;
 	}
 
 	public GFPDObject(PDContentStream contentStream, final String type) {
 		super(type);
+		StaticContainers.registerModelObject(this);
 		this.contentStream = contentStream;
 
 		COSObject simpleObject = ((org.verapdf.pd.PDObject) contentStream).getObject();
@@ -49,7 +52,20 @@ public class GFPDObject extends GenericModelObject implements PDObject {
 	}
 
 	public GFPDObject(org.verapdf.pd.PDObject simplePDObject, final String type) {
+		this(simplePDObject, type, true);
+	}
+
+	/**
+	 * @param simplePDObject object of the greenfield parser
+	 * @param type           type of the model object
+	 * @param register       false for objects shared by all documents, which
+	 *                       are not registered with the context of any of them
+	 */
+	protected GFPDObject(org.verapdf.pd.PDObject simplePDObject, final String type, final boolean register) {
 		super(type);
+		if (register) {
+			StaticContainers.registerModelObject(this);
+		}
 		this.simplePDObject = simplePDObject;
 
 		if (simplePDObject != null && !simplePDObject.getObject().empty()) {
@@ -62,17 +78,20 @@ public class GFPDObject extends GenericModelObject implements PDObject {
 
 	public GFPDObject(PDFont font, final String type) {
 		super(type);
+		StaticContainers.registerModelObject(this);
 		this.pdFont = font;
 		this.id = GFIDGenerator.generateID(font);
 	}
 
 	public GFPDObject(PDCMap pdcMap, final String type) {
 		super(type);
+		StaticContainers.registerModelObject(this);
 		this.pdcMap = pdcMap;
 	}
 
 	public GFPDObject(COSObject simpleCOSObject, final String type) {
 		super(type);
+		StaticContainers.registerModelObject(this);
 		this.simpleCOSObject = simpleCOSObject;
 	}
 
@@ -2,7 +2,9 @@ package org.verapdf.gf.model.impl.pd;
 
 import org.verapdf.cos.COSArray;
 import org.verapdf.gf.model.factory.colors.ColorSpaceFactory;
+import org.verapdf.gf.model.impl.containers.StaticContainers;
 import org.verapdf.gf.model.impl.cos.GFCosBBox;
+import org.verapdf.gf.model.impl.pd.util.ContentStreamPreparser;
 import org.verapdf.gf.model.impl.pd.util.PDResourcesHandler;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosBBox;
@@ -69,9 +71,14 @@ public class GFPDPage extends GFPDObject implements PDPage {
 
 	public static final int MAX_NUMBER_OF_ACTIONS = 2;
 
+	private final int pageIndex;
+
 	private boolean containsTransparency = false;
+	private boolean isContentStreamParsed = false;
+	private boolean isAnnotationsParsed = false;
 	private List<PDContentStream> contentStreams = null;
 	private List<PDAnnot> annotations = null;
+	private boolean isReleased = false;
 
 	/**
 	 * Default constructor
@@ -79,11 +86,21 @@ public class GFPDPage extends GFPDObject implements PDPage {
 	 * @param pdPage is greenfield parser PDPage.
 	 */
 	public GFPDPage(org.verapdf.pd.PDPage pdPage) {
+		this(pdPage, -1);
+	}
+
+	/**
+	 * @param pdPage    is greenfield parser PDPage.
+	 * @param pageIndex index of the page in the document
+	 */
+	public GFPDPage(org.verapdf.pd.PDPage pdPage, int pageIndex) {
 		super(pdPage, PD_PAGE_TYPE);
+		this.pageIndex = pageIndex;
 	}
 
 	@Override
 	public List<? extends Object> getLinkedObjects(String link) {
+		StaticContainers.getContext().pageEntered(this);
 		switch (link) {
 			case GROUP:
 				return this.getGroup();
@@ -122,13 +139,19 @@ public class GFPDPage extends GFPDObject implements PDPage {
 
 	private List<PDAnnot> getAnnotations() {
 		if (this.annotations == null) {
-			this.annotations = parseAnnotataions();
+			List<PDAnnot> res = parseAnnotataions();
+			this.isAnnotationsParsed = true;
+			if (!isHeld()) {
+				return res;
+			}
+			this.annotations = res;
 		}
 
 		return this.annotations;
 	}
 
 	private List<PDAnnot> parseAnnotataions() {
+		notifyPreparser();
 		List<PDAnnotation> annots = ((org.verapdf.pd.PDPage) simplePDObject).getAnnotations();
 		if (annots.size() > 0) {
 			List<PDAnnot> res = new ArrayList<>(annots.size());
@@ -165,12 +188,18 @@ public class GFPDPage extends GFPDObject implements PDPage {
 
 	private List<PDContentStream> getContentStream() {
 		if (this.contentStreams == null) {
-			this.contentStreams = parseContentStream();
+			List<PDContentStream> res = parseContentStream();
+			this.isContentStreamParsed = true;
+			if (!isHeld()) {
+				return res;
+			}
+			this.contentStreams = res;
 		}
 		return this.contentStreams;
 	}
 
 	private List<PDContentStream> parseContentStream() {
+		notifyPreparser();
 		List<PDContentStream> pdContentStreams = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
 		org.verapdf.pd.PDPage page = (org.verapdf.pd.PDPage) this.simplePDObject;
 		if (page.getContent() != null) {
@@ -182,6 +211,13 @@ public class GFPDPage extends GFPDObject implements PDPage {
 		return pdContentStreams;
 	}
 
+	private void notifyPreparser() {
+		ContentStreamPreparser preparser = StaticContainers.getContext().getContentStreamPreparser();
+		if (preparser != null && this.pageIndex >= 0) {
+			preparser.pageReached(this.pageIndex);
+		}
+	}
+
 	private List<CosBBox> getMediaBox() {
 		return getBBox(((org.verapdf.pd.PDPage) simplePDObject).getCOSMediaBox());
 	}
@@ -239,12 +275,31 @@ public class GFPDPage extends GFPDObject implements PDPage {
 	 */
 	@Override
 	public Boolean getcontainsTransparency() {
-		if (this.contentStreams == null) {
-			this.contentStreams = parseContentStream();
+		StaticContainers.getContext().pageEntered(this);
+		if (!this.isContentStreamParsed) {
+			getContentStream();
 		}
-		if (this.annotations == null) {
-			this.annotations = parseAnnotataions();
+		if (!this.isAnnotationsParsed) {
+			getAnnotations();
 		}
 		return Boolean.valueOf(this.containsTransparency);
 	}
+
+	/**
+	 * Releases parsed content stream and annotations of the page together with
+	 * their operators and glyphs. The transparency flag of the page is kept,
+	 * content stream and annotations are parsed again if they are requested
+	 * after the release. Memory charged for them is discharged on release, so
+	 * objects parsed again are not kept by the page unless it becomes the
+	 * current page of the validator again.
+	 */
+	public void release() {
+		this.contentStreams = null;
+		this.annotations = null;
+		this.isReleased = true;
+	}
+
+	private boolean isHeld() {
+		return !this.isReleased || StaticContainers.getContext().isCurrentPage(this);
+	}
 }
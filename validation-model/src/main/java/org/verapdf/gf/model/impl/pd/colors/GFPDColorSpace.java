@@ -12,6 +12,10 @@ public class GFPDColorSpace extends GFPDResource implements PDColorSpace {
         super(simplePDObject, type);
     }
 
+    protected GFPDColorSpace(org.verapdf.pd.colors.PDColorSpace simplePDObject, String type, boolean register) {
+        super(simplePDObject, type, register);
+    }
+
     @Override
     public Long getnrComponents() {
         return Long.valueOf(((org.verapdf.pd.colors.PDColorSpace) simplePDObject).getNumberOfComponents());
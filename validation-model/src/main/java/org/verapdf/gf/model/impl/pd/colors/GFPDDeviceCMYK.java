@@ -16,7 +16,8 @@ public class GFPDDeviceCMYK extends GFPDColorSpace implements PDDeviceCMYK {
 
     private GFPDDeviceCMYK(
             org.verapdf.pd.colors.PDDeviceCMYK simplePDObject) {
-        super(simplePDObject, DEVICE_CMYK_TYPE);
+        // shared by all documents
+        super(simplePDObject, DEVICE_CMYK_TYPE, false);
     }
 
     public static PDDeviceCMYK getInstance() {
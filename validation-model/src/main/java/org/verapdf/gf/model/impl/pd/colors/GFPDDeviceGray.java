@@ -16,7 +16,8 @@ public class GFPDDeviceGray extends GFPDColorSpace implements PDDeviceGray {
 
     private GFPDDeviceGray(
             org.verapdf.pd.colors.PDDeviceGray simplePDObject) {
-        super(simplePDObject, DEVICE_GRAY_TYPE);
+        // shared by all documents
+        super(simplePDObject, DEVICE_GRAY_TYPE, false);
     }
 
     public static PDDeviceGray getInstance() {
@@ -15,7 +15,8 @@ public class GFPDDeviceRGB extends GFPDColorSpace implements PDDeviceRGB {
 
     private GFPDDeviceRGB(
             org.verapdf.pd.colors.PDDeviceRGB simplePDObject) {
-        super(simplePDObject, DEVICE_RGB_TYPE);
+        // shared by all documents
+        super(simplePDObject, DEVICE_RGB_TYPE, false);
     }
 
     public static PDDeviceRGB getInstance() {
@@ -14,6 +14,7 @@ import org.verapdf.model.pdlayer.PDSeparation;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Maksim Bezrukov
@@ -27,47 +28,20 @@ public class GFPDSeparation extends GFPDColorSpace implements PDSeparation {
     public GFPDSeparation(org.verapdf.pd.colors.PDSeparation simplePDObject) {
         super(simplePDObject, SEPARATION_TYPE);
         String name = simplePDObject.getColorantName().getString();
-        if (StaticContainers.separations.containsKey(name)) {
-            StaticContainers.separations.get(name).add(this);
-        } else {
-            final List<GFPDSeparation> separationList = new ArrayList<>();
-            separationList.add(this);
-            StaticContainers.separations.put(name, separationList);
+        Fingerprint fingerprint = new Fingerprint(simplePDObject);
+        Map<String, Fingerprint> separations = StaticContainers.getSeparations();
+        Fingerprint registered = separations.get(name);
+        if (registered == null) {
+            separations.put(name, fingerprint);
+        } else if (!registered.isConsistentWith(fingerprint)) {
+            StaticContainers.getInconsistentSeparations().add(name);
         }
     }
 
     @Override
     public Boolean getareTintAndAlternateConsistent() {
         String name = ((org.verapdf.pd.colors.PDSeparation) simplePDObject).getColorantName().getString();
-
-        if (StaticContainers.inconsistentSeparations.contains(name)) {
-            return Boolean.FALSE;
-        }
-
-        if (StaticContainers.separations.get(name).size() > 1) {
-            for (GFPDSeparation gfPDSeparation : StaticContainers.separations.get(name)) {
-                if (gfPDSeparation.equals(this)) {
-                    continue;
-                }
-
-                COSObject alternateSpaceToCompare =
-                        ((org.verapdf.pd.colors.PDSeparation) gfPDSeparation.simplePDObject).getAlternate().getObject();
-                COSObject tintTransformToCompare =
-                        ((org.verapdf.pd.colors.PDSeparation) gfPDSeparation.simplePDObject).getTintTransform();
-
-                COSObject alternateSpaceCurrent =
-                        ((org.verapdf.pd.colors.PDSeparation) simplePDObject).getAlternate().getObject();
-                COSObject tintTransformCurrent =
-                        ((org.verapdf.pd.colors.PDSeparation) simplePDObject).getTintTransform();
-
-                if (!alternateSpaceToCompare.equals(alternateSpaceCurrent) || !tintTransformToCompare.equals(tintTransformCurrent)) {
-                    StaticContainers.inconsistentSeparations.add(name);
-                    return Boolean.FALSE;
-                }
-            }
-        }
-
-        return Boolean.TRUE;
+        return Boolean.valueOf(!StaticContainers.getInconsistentSeparations().contains(name));
     }
 
     @Override
@@ -106,4 +80,33 @@ public class GFPDSeparation extends GFPDColorSpace implements PDSeparation {
         }
         return Collections.emptyList();
     }
+
+    /**
+     * Alternate space and tint transform of a separation. Separations with the
+     * same colorant name are consistent if their fingerprints match.
+     */
+    public static final class Fingerprint {
+
+        private final COSObject alternateSpace;
+        private final COSObject tintTransform;
+
+        private Fingerprint(org.verapdf.pd.colors.PDSeparation separation) {
+            org.verapdf.pd.colors.PDColorSpace alternate = separation.getAlternate();
+            this.alternateSpace = alternate == null ? null : alternate.getObject();
+            this.tintTransform = separation.getTintTransform();
+        }
+
+        /**
+         * @param other fingerprint of another separation with the same colorant name
+         * @return true if both separations use the same alternate space and tint transform
+         */
+        public boolean isConsistentWith(Fingerprint other) {
+            return areEqual(this.alternateSpace, other.alternateSpace)
+                    && areEqual(this.tintTransform, other.tintTransform);
+        }
+
+        private static boolean areEqual(COSObject first, COSObject second) {
+            return first == null ? second == null : first.equals(second);
+        }
+    }
 }
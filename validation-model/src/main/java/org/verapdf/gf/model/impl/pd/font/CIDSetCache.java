@@ -0,0 +1,127 @@
+package org.verapdf.gf.model.impl.pd.font;
+
+import org.verapdf.as.io.ASInputStream;
+import org.verapdf.cos.COSDictionary;
+import org.verapdf.cos.COSKey;
+import org.verapdf.cos.COSStream;
+import org.verapdf.pd.font.FontProgram;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decoded CIDSet streams and glyphs of CID font programs of one document, kept
+ * as bitmaps of 64-bit words. CIDSet streams are identified by their keys and
+ * font programs by their CIDFont dictionaries, so every CIDSet is decoded once
+ * and every font program is queried at most once per listed code for all font
+ * objects using them.
+ *
+ * @author Sergey Shemyakov
+ */
+public class CIDSetCache {
+
+	private static final Logger LOGGER = Logger.getLogger(CIDSetCache.class.getCanonicalName());
+
+	private final Map<COSKey, long[]> cidSets = new HashMap<>();
+	private final Map<COSDictionary, ProbedCodes> probedCodes = new IdentityHashMap<>();
+
+	/**
+	 * @param cidSet CIDSet stream
+	 * @return bitmap of CIDs listed in the CIDSet. Bit {@code i % 64} of word
+	 * {@code i / 64} is set if CID {@code i} is listed
+	 * @throws IOException if the stream can't be read
+	 */
+	public long[] getCIDSet(COSStream cidSet) throws IOException {
+		COSKey key = cidSet.getObjectKey();
+		long[] res = key == null ? null : this.cidSets.get(key);
+		if (res == null) {
+			res = decodeCIDSet(cidSet);
+			if (key != null) {
+				this.cidSets.put(key, res);
+			}
+		}
+		return res;
+	}
+
+	/**
+	 * Checks that the font program contains all given codes. Only listed codes
+	 * are queried from the font program, and results are kept for the font, so
+	 * every code is queried at most once.
+	 *
+	 * @param fontDictionary CIDFont dictionary
+	 * @param program        parsed font program of the font
+	 * @param codes          bitmap of codes in the same layout as
+	 *                       {@link #getCIDSet(COSStream)}. Code 0 is never checked
+	 * @return true if every listed code is present in the font program
+	 */
+	public boolean containsCodes(COSDictionary fontDictionary, FontProgram program, long[] codes) {
+		ProbedCodes probed = this.probedCodes.get(fontDictionary);
+		if (probed == null) {
+			probed = new ProbedCodes();
+			this.probedCodes.put(fontDictionary, probed);
+		}
+		probed.ensureCapacity(codes.length);
+		for (int i = 0; i < codes.length; ++i) {
+			long listed = i == 0 ? codes[i] & ~1L : codes[i];
+			if ((listed & probed.checked[i] & ~probed.present[i]) != 0) {
+				return false;
+			}
+			long unchecked = listed & ~probed.checked[i];
+			while (unchecked != 0) {
+				int bit = Long.numberOfTrailingZeros(unchecked);
+				long mask = 1L << bit;
+				probed.checked[i] |= mask;
+				if (!program.containsCode((i << 6) | bit)) {
+					return false;
+				}
+				probed.present[i] |= mask;
+				unchecked &= ~mask;
+			}
+		}
+		return true;
+	}
+
+	private static long[] decodeCIDSet(COSStream cidSet) throws IOException {
+		int length = (int) cidSet.getLength();
+		long[] res = new long[(length + 7) >>> 3];
+		try (ASInputStream stream = cidSet.getData(COSStream.FilterFlags.DECODE)) {
+			byte[] buffer = new byte[length];
+			int read = 0;
+			while (read < length) {
+				int count = stream.read(buffer, read, length - read);
+				if (count <= 0) {
+					LOGGER.log(Level.FINE, "Did not read necessary number of cid set bytes");
+					break;
+				}
+				read += count;
+			}
+			for (int i = 0; i < read; ++i) {
+				// the first CID of every byte is its most significant bit
+				long reversed = Integer.reverse(buffer[i] & 0xFF) >>> 24;
+				res[i >>> 3] |= reversed << ((i & 7) << 3);
+			}
+		}
+		return res;
+	}
+
+	/**
+	 * Codes queried from a font program, in the layout of CIDSet bitmaps
+	 */
+	private static class ProbedCodes {
+
+		private long[] checked = new long[0];
+		private long[] present = new long[0];
+
+		void ensureCapacity(int numberOfWords) {
+			if (this.checked.length < numberOfWords) {
+				this.checked = Arrays.copyOf(this.checked, numberOfWords);
+				this.present = Arrays.copyOf(this.present, numberOfWords);
+			}
+		}
+	}
+}
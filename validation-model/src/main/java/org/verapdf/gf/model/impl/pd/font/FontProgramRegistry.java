@@ -0,0 +1,65 @@
+package org.verapdf.gf.model.impl.pd.font;
+
+import org.verapdf.cos.COSDictionary;
+import org.verapdf.cos.COSKey;
+import org.verapdf.pd.font.FontProgram;
+import org.verapdf.pd.font.PDFont;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Embedded font programs of one document. A font program is taken from the
+ * first font object created for a font dictionary and parsed on the first
+ * request, then it is shared by all fonts, glyphs and font program objects
+ * of the same font dictionary, however many font objects the resources
+ * create for it.
+ *
+ * @author Sergey Shemyakov
+ */
+public class FontProgramRegistry {
+
+	private static final Logger LOGGER = Logger.getLogger(FontProgramRegistry.class.getCanonicalName());
+
+	private final Map<COSKey, FontProgram> programs = new HashMap<>();
+	private final Map<COSDictionary, FontProgram> directFontPrograms = new IdentityHashMap<>();
+
+	/**
+	 * @param font font object
+	 * @return parsed font program of the font, or null if the font has no
+	 * embedded font program
+	 */
+	public FontProgram getFontProgram(PDFont font) {
+		COSDictionary dictionary = font.getDictionary();
+		if (dictionary == null) {
+			return parse(font);
+		}
+		COSKey key = dictionary.getObjectKey();
+		if (key != null) {
+			if (!this.programs.containsKey(key)) {
+				this.programs.put(key, parse(font));
+			}
+			return this.programs.get(key);
+		}
+		if (!this.directFontPrograms.containsKey(dictionary)) {
+			this.directFontPrograms.put(dictionary, parse(font));
+		}
+		return this.directFontPrograms.get(dictionary);
+	}
+
+	private static FontProgram parse(PDFont font) {
+		FontProgram program = font.getFontProgram();
+		if (program != null && !program.isAttemptedParsing()) {
+			try {
+				program.parseFont();
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING, "Can't parse font program of font " + font.getName(), e);
+			}
+		}
+		return program;
+	}
+}
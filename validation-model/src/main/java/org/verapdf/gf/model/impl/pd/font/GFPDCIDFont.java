@@ -1,6 +1,5 @@
 package org.verapdf.gf.model.impl.pd.font;
 
-import org.verapdf.as.io.ASInputStream;
 import org.verapdf.cos.COSObjType;
 import org.verapdf.cos.COSObject;
 import org.verapdf.cos.COSStream;
@@ -20,7 +19,6 @@ import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.logging.Level;
@@ -45,20 +43,7 @@ public class GFPDCIDFont extends GFPDFont implements PDCIDFont {
     public GFPDCIDFont(PDFont font, RenderingMode renderingMode) {
         super(font, renderingMode, CID_FONT_TYPE);
         if(font != null) {
-            FontProgram program = font.getFontProgram();
-            if(program != null) {
-                try {
-                    if (!program.isAttemptedParsing()) {
-                        program.parseFont();
-                    }
-                    this.fontProgramParsed = program.isSuccessfulParsing();
-                    this.pdFont.setSuccessfullyParsed(program.isSuccessfulParsing());
-                } catch (IOException e) {
-                    LOGGER.log(Level.WARNING, "Can't parse font program of font " + font.getName(), e);
-                    this.fontProgramParsed = false;
-                    this.pdFont.setSuccessfullyParsed(false);
-                }
-            }
+            initFontProgram(font);
         }
     }
 
@@ -115,19 +100,17 @@ public class GFPDCIDFont extends GFPDFont implements PDCIDFont {
         try {
             COSStream cidSet = getCIDSetStream();
             if (cidSet != null) {
-                ASInputStream stream = cidSet.getData(COSStream.FilterFlags.DECODE);
-                long length = cidSet.getLength();
-                byte[] cidSetBytes = getCIDsFromCIDSet(stream, length);
-
-                //reverse bit order in bit set (convert to big endian)
-                BitSet bitSet = toBitSetBigEndian(cidSetBytes);
+                CIDSetCache cache = StaticContainers.getContext().getCIDSetCache();
+                long[] cids = cache.getCIDSet(cidSet);
 
-                FontProgram cidFont = this.pdFont.getFontProgram();
+                FontProgram cidFont = getParsedFontProgram();
+                if (!cache.containsCodes(this.pdFont.getDictionary(), cidFont, cids)) {
+                    return Boolean.FALSE;
+                }
 
-                for (int i = 1; i < bitSet.size(); i++) {
-                    if (bitSet.get(i) && !cidFont.containsCode(i)) {
-                        return Boolean.FALSE;
-                    }
+                int cardinality = 0;
+                for (long word : cids) {
+                    cardinality += Long.bitCount(word);
                 }
 
                 PDFAFlavour flavour = StaticContainers.getFlavour();
@@ -135,11 +118,11 @@ public class GFPDCIDFont extends GFPDFont implements PDCIDFont {
                     //on this levels we need to ensure that all glyphs present in font program are described in cid set
                     if (cidFont instanceof CFFFontProgram && ((CFFFontProgram) cidFont).isCIDFont()) {
                         CFFCIDFontProgram cffCidFont = (CFFCIDFontProgram) ((CFFFontProgram) cidFont).getFont();
-                        if (bitSet.cardinality() < cffCidFont.getNGlyphs()) {
+                        if (cardinality < cffCidFont.getNGlyphs()) {
                             return Boolean.FALSE;
                         }
                     } else if (cidFont instanceof BaseTrueTypeProgram) {
-                        if (bitSet.cardinality() < ((BaseTrueTypeProgram) cidFont).getNGlyphs()) {
+                        if (cardinality < ((BaseTrueTypeProgram) cidFont).getNGlyphs()) {
                             return Boolean.FALSE;
                         }
                     }
@@ -162,25 +145,4 @@ public class GFPDCIDFont extends GFPDFont implements PDCIDFont {
         }
         return null;
     }
-
-    private static byte[] getCIDsFromCIDSet(ASInputStream cidSet, long length) throws IOException {
-        byte[] cidSetBytes = new byte[(int) length];
-        if (cidSet.read(cidSetBytes) != length) {
-            LOGGER.log(Level.FINE, "Did not read necessary number of cid set bytes");
-        }
-        return cidSetBytes;
-    }
-
-    private static BitSet toBitSetBigEndian(byte[] source) {
-        BitSet bitSet = new BitSet(source.length * 8);
-        int i = 0;
-        for (int j = 0; j < source.length; j++) {
-            int b = source[j] >= 0 ? source[j] : 256 + source[j];
-            for (int k = 0; k < 8; k++) {
-                bitSet.set(i++, (b & 0x80) != 0);
-                b = b << 1;
-            }
-        }
-        return bitSet;
-    }
 }
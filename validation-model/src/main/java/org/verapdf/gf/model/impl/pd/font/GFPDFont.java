@@ -3,6 +3,7 @@ package org.verapdf.gf.model.impl.pd.font;
 import org.verapdf.as.ASAtom;
 import org.verapdf.cos.COSName;
 import org.verapdf.gf.model.factory.operators.RenderingMode;
+import org.verapdf.gf.model.impl.containers.StaticContainers;
 import org.verapdf.gf.model.impl.cos.GFCosUnicodeName;
 import org.verapdf.gf.model.impl.external.GFFontProgram;
 import org.verapdf.gf.model.impl.external.GFTrueTypeFontProgram;
@@ -98,23 +99,49 @@ public class GFPDFont extends GFPDResource implements PDFont {
         return this.fontProgramParsed;
     }
 
+    /**
+     * Parses embedded font program of the font, if it has not been parsed for
+     * the same font dictionary yet, and stores the result of parsing.
+     *
+     * @param font font object
+     */
+    protected void initFontProgram(org.verapdf.pd.font.PDFont font) {
+        org.verapdf.pd.font.FontProgram program = getFontProgram(font);
+        if (program != null) {
+            this.fontProgramParsed = program.isSuccessfulParsing();
+            this.pdFont.setSuccessfullyParsed(this.fontProgramParsed);
+        }
+    }
+
+    /**
+     * @return parsed embedded font program shared by all objects of the font
+     * dictionary, or null if the font program is not embedded
+     */
+    protected org.verapdf.pd.font.FontProgram getParsedFontProgram() {
+        return getFontProgram(this.pdFont);
+    }
+
+    private static org.verapdf.pd.font.FontProgram getFontProgram(org.verapdf.pd.font.PDFont font) {
+        return StaticContainers.getContext().getFontProgramRegistry().getFontProgram(font);
+    }
+
     /**
      * @return embedded font program for Type 1, TrueType or CID Font.
      */
     private List<FontProgram> getFontProgram() {
-        if(this.pdFont.getFontProgram() != null && this.fontProgramParsed) {
+        org.verapdf.pd.font.FontProgram program = getParsedFontProgram();
+        if(program != null && this.fontProgramParsed) {
             ASAtom subType = this.pdFont.getSubtype();
             if (ASAtom.TRUE_TYPE == subType) {
-                GFTrueTypeFontProgram font = new GFTrueTypeFontProgram(
-                        this.pdFont.getFontProgram());
+                GFTrueTypeFontProgram font = new GFTrueTypeFontProgram(program);
                 return getFontProgramList(font);
             }
 			if(TYPE0_STRING.equals(this.getSubtype())) {
-			    GFFontProgram font = new GFFontProgram(this.pdFont.getFontProgram(),
+			    GFFontProgram font = new GFFontProgram(program,
 			            (GFPDFont) ((GFPDType0Font) this).getLinkedObjects(GFPDType0Font.DESCENDANT_FONTS).get(0));
 			    return getFontProgramList(font);
 			}
-			GFFontProgram font = new GFFontProgram(this.pdFont.getFontProgram(),
+			GFFontProgram font = new GFFontProgram(program,
 			        this);
 			return getFontProgramList(font);
         }
@@ -11,10 +11,6 @@ import org.verapdf.pd.font.opentype.OpenTypeFontProgram;
 import org.verapdf.pd.font.truetype.AdobeGlyphList;
 import org.verapdf.pd.font.truetype.TrueTypeFontProgram;
 
-import java.io.IOException;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-
 /**
  * Represents TrueType font dictionary.
  *
@@ -22,28 +18,13 @@ import java.util.logging.Logger;
  */
 public class GFPDTrueTypeFont extends GFPDSimpleFont implements PDTrueTypeFont {
 
-    private static final Logger LOGGER = Logger.getLogger(GFPDTrueTypeFont.class.getCanonicalName());
-
     public static final String TRUETYPE_FONT_TYPE = "PDTrueTypeFont";
 
     public GFPDTrueTypeFont(org.verapdf.pd.font.truetype.PDTrueTypeFont font,
                             RenderingMode renderingMode) {
         super(font, renderingMode, TRUETYPE_FONT_TYPE);
         if (font != null) {
-            FontProgram program = font.getFontProgram();
-            if (program != null) {
-                try {
-                    if (!program.isAttemptedParsing()) {
-                        program.parseFont();
-                    }
-                    this.fontProgramParsed = program.isSuccessfulParsing();
-                    this.pdFont.setSuccessfullyParsed(program.isSuccessfulParsing());
-                } catch (IOException e) {
-                    LOGGER.log(Level.WARNING, "Can't parse font program of font " + font.getName(), e);
-                    this.fontProgramParsed = false;
-                    this.pdFont.setSuccessfullyParsed(false);
-                }
-            }
+            initFontProgram(font);
         }
     }
 
@@ -59,7 +40,7 @@ public class GFPDTrueTypeFont extends GFPDSimpleFont implements PDTrueTypeFont {
             return Boolean.valueOf(false);
         }
 
-        FontProgram font = this.pdFont.getFontProgram();
+        FontProgram font = getParsedFontProgram();
         if ((font instanceof OpenTypeFontProgram)) {
             font = ((OpenTypeFontProgram) font).getFont();
         }
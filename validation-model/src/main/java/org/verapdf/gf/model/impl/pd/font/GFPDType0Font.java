@@ -70,7 +70,7 @@ public class GFPDType0Font extends GFPDFont implements PDType0Font {
 		if (cidFontDict != null) {
 			org.verapdf.pd.font.PDCIDFont cidFont = new org.verapdf.pd.font.PDCIDFont(cidFontDict,
 					((org.verapdf.pd.font.PDType0Font) this.pdFont).getCMap().getCMapFile(),
-					this.pdFont.getFontProgram(), this.pdFont.isSuccessfullyParsed());
+					getParsedFontProgram(), this.pdFont.isSuccessfullyParsed());
 			this.cidFont = cidFont;
 			PDCIDFont pdCIDFont = new GFPDCIDFont(cidFont, renderingMode);
 			return pdCIDFont;
@@ -9,10 +9,7 @@ import org.verapdf.pd.font.cff.CFFType1FontProgram;
 import org.verapdf.pd.font.opentype.OpenTypeFontProgram;
 import org.verapdf.pd.font.type1.Type1FontProgram;
 
-import java.io.IOException;
 import java.util.Set;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * Represents Type1 font dictionary.
@@ -21,8 +18,6 @@ import java.util.logging.Logger;
  */
 public class GFPDType1Font extends GFPDSimpleFont implements PDType1Font {
 
-    private static final Logger LOGGER = Logger.getLogger(GFPDType1Font.class.getCanonicalName());
-
     public static final String TYPE1_FONT_TYPE = "PDType1Font";
 
     public static final String NOTDEF_STRING = ".notdef";
@@ -31,20 +26,7 @@ public class GFPDType1Font extends GFPDSimpleFont implements PDType1Font {
                          RenderingMode renderingMode) {
         super(pdFont, renderingMode, TYPE1_FONT_TYPE);
         if (pdFont != null) {
-            FontProgram program = pdFont.getFontProgram();
-            if (program != null) {
-                try {
-                    if (!program.isAttemptedParsing()) {
-                        program.parseFont();
-                    }
-                    this.fontProgramParsed = program.isSuccessfulParsing();
-                    this.pdFont.setSuccessfullyParsed(program.isSuccessfulParsing());
-                } catch (IOException e) {
-                    LOGGER.log(Level.WARNING, "Can't parse font program of font " + pdFont.getName(), e);
-                    this.fontProgramParsed = false;
-                    this.pdFont.setSuccessfullyParsed(false);
-                }
-            }
+            initFontProgram(pdFont);
         }
     }
 
@@ -69,20 +51,21 @@ public class GFPDType1Font extends GFPDSimpleFont implements PDType1Font {
 
         Set<String> descriptorCharSet = ((org.verapdf.pd.font.type1.PDType1Font)
                 this.pdFont).getDescriptorCharSet();
+        FontProgram program = getParsedFontProgram();
         String[] fontProgramCharSet;
-        if (this.pdFont.getFontProgram() instanceof Type1FontProgram) {
+        if (program instanceof Type1FontProgram) {
             fontProgramCharSet =
-                    ((Type1FontProgram) this.pdFont.getFontProgram()).getCharSet();
-        } else if (this.pdFont.getFontProgram() instanceof CFFFontProgram) {
+                    ((Type1FontProgram) program).getCharSet();
+        } else if (program instanceof CFFFontProgram) {
             // Type1 program is contained inside CFF program.
             fontProgramCharSet = ((CFFType1FontProgram)
                     ((CFFFontProgram)
-                            this.pdFont.getFontProgram()).getFont()).getCharSet();
-        } else if (this.pdFont.getFontProgram() instanceof OpenTypeFontProgram) {
+                            program).getFont()).getCharSet();
+        } else if (program instanceof OpenTypeFontProgram) {
             // Type1 program is contained inside CFF program that is contained
             // inside OpenType program.
             CFFFontProgram cff = (CFFFontProgram)
-                    ((OpenTypeFontProgram) this.pdFont.getFontProgram()).getFont();
+                    ((OpenTypeFontProgram) program).getFont();
             fontProgramCharSet = ((CFFType1FontProgram)
                     (cff.getFont())).getCharSet();
         } else {
@@ -4,12 +4,10 @@ import org.verapdf.cos.*;
 import org.verapdf.gf.model.impl.containers.StaticContainers;
 import org.verapdf.gf.model.impl.external.GFPKCSDataObject;
 import org.verapdf.gf.model.impl.pd.GFPDObject;
-import org.verapdf.io.SeekableInputStream;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.external.PKCSDataObject;
 import org.verapdf.model.pdlayer.PDSigRef;
 import org.verapdf.model.pdlayer.PDSignature;
-import org.verapdf.parser.SignatureParser;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -33,7 +31,7 @@ public class GFPDSignature extends GFPDObject implements PDSignature {
     public static final String CONTENTS = "Contents";
     public static final String REFERENCE = "Reference";
 
-    protected static COSString contents;
+    protected COSString contents;
     protected long signatureOffset = -1;
 
     public GFPDSignature(org.verapdf.pd.PDSignature pdSignature, COSObject signatureReference) {
@@ -42,7 +40,7 @@ public class GFPDSignature extends GFPDObject implements PDSignature {
             COSKey key = signatureReference.getObjectKey();
             this.signatureOffset = StaticContainers.getDocument().getDocument().getOffset(key).longValue();
         }
-        contents = pdSignature.getContents();
+        this.contents = pdSignature.getContents();
     }
 
     @Override
@@ -60,10 +58,10 @@ public class GFPDSignature extends GFPDObject implements PDSignature {
     /**
      * @return DER-encoded PKCS#7 data object representing PDF Signature.
      */
-    private static List<PKCSDataObject> getContents() {
-        if (contents != null) {
+    private List<PKCSDataObject> getContents() {
+        if (this.contents != null) {
             List<PKCSDataObject> list = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-            list.add(new GFPKCSDataObject(contents));
+            list.add(new GFPKCSDataObject(this.contents));
             return Collections.unmodifiableList(list);
         }
         return Collections.emptyList();
@@ -92,15 +90,16 @@ public class GFPDSignature extends GFPDObject implements PDSignature {
      */
     @Override
     public Boolean getdoesByteRangeCoverEntireDocument() {
+        if (this.signatureOffset < 0) {
+            return Boolean.FALSE;
+        }
         try {
-            SeekableInputStream pdfSource = StaticContainers.getDocument().getPDFSource();
-            long offest = pdfSource.getOffset();
-            SignatureParser parser = new SignatureParser(pdfSource,
-                    StaticContainers.getDocument().getDocument());
             long[] actualByteRange =
-                    parser.getByteRangeBySignatureOffset(signatureOffset);
+                    StaticContainers.getContext().getSignatureOffsetIndex().getByteRange(this.signatureOffset);
             int[] byteRange = ((org.verapdf.pd.PDSignature) this.simplePDObject).getByteRange();
-            pdfSource.seek(offest);
+            if (actualByteRange == null || byteRange == null || byteRange.length < 4) {
+                return Boolean.FALSE;
+            }
             for (int i = 0; i < 4; ++i) {
                 if (byteRange[i] != actualByteRange[i]) {
                     return Boolean.FALSE;
@@ -108,7 +107,7 @@ public class GFPDSignature extends GFPDObject implements PDSignature {
             }
             return Boolean.TRUE;
         } catch (IOException ex) {
-            LOGGER.log(Level.FINE, "Can't create parser to process digital signature", ex);
+            LOGGER.log(Level.FINE, "Can't read document source to process digital signature", ex);
             return Boolean.FALSE;
         }
     }
@@ -0,0 +1,219 @@
+package org.verapdf.gf.model.impl.pd.signature;
+
+import org.verapdf.io.SeekableInputStream;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Offsets of the hex strings following /Contents keys and of the ends of
+ * revisions (%%EOF markers together with the following end of line) in the
+ * source of a document. The source is scanned once, on the first request, and
+ * the actual byte ranges of all signatures are computed from the index.
+ * Offsets are counted from the beginning of the PDF header.
+ *
+ * @author Sergey Shemyakov
+ */
+public class SignatureOffsetIndex {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final byte[] CONTENTS = "/Contents".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] EOF = "%%EOF".getBytes(StandardCharsets.US_ASCII);
+
+	private final SeekableInputStream source;
+	private final long headerOffset;
+
+	private boolean isScanned = false;
+	private long sourceLength;
+	private LongList contentsStarts;
+	private LongList contentsEnds;
+	private LongList revisionEnds;
+
+	/**
+	 * @param source       source of the document
+	 * @param headerOffset offset of the PDF header in the source
+	 */
+	public SignatureOffsetIndex(SeekableInputStream source, long headerOffset) {
+		this.source = source;
+		this.headerOffset = headerOffset;
+	}
+
+	/**
+	 * Calculates byte range that a signature has to cover
+	 *
+	 * @param signatureOffset offset of the signature dictionary object
+	 * @return byte range covering the whole revision of the signature except
+	 * for the value of its Contents entry, or null if no Contents hex string
+	 * follows the signature offset
+	 * @throws IOException if the source can't be read
+	 */
+	public long[] getByteRange(long signatureOffset) throws IOException {
+		if (!this.isScanned) {
+			scan();
+			this.isScanned = true;
+		}
+		int contentsIndex = this.contentsStarts.firstGreaterOrEqual(signatureOffset);
+		if (contentsIndex == this.contentsStarts.size()) {
+			return null;
+		}
+		long contentsStart = this.contentsStarts.get(contentsIndex);
+		long contentsEnd = this.contentsEnds.get(contentsIndex);
+		int revisionIndex = this.revisionEnds.firstGreaterOrEqual(contentsEnd);
+		long revisionEnd = revisionIndex == this.revisionEnds.size() ?
+				this.sourceLength : this.revisionEnds.get(revisionIndex);
+		return new long[]{0, contentsStart, contentsEnd, revisionEnd - contentsEnd};
+	}
+
+	private void scan() throws IOException {
+		this.contentsStarts = new LongList();
+		this.contentsEnds = new LongList();
+		this.revisionEnds = new LongList();
+		long initialOffset = this.source.getOffset();
+		try {
+			this.source.seek(this.headerOffset);
+			new Scanner().scan();
+		} finally {
+			this.source.seek(initialOffset);
+		}
+	}
+
+	private static boolean isWhitespace(int c) {
+		return c == 0 || c == 9 || c == 10 || c == 12 || c == 13 || c == 32;
+	}
+
+	/**
+	 * State machine looking for /Contents hex strings and %%EOF markers
+	 */
+	private final class Scanner {
+
+		private int contentsMatched = 0;
+		private int eofMatched = 0;
+		private boolean isAfterContentsKey = false;
+		private long hexStart = -1;
+		private boolean isHexStringEmpty = false;
+		private long pendingRevisionEnd = -1;
+		private boolean isAfterCR = false;
+
+		private void scan() throws IOException {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			long offset = 0;
+			int read = source.read(buffer);
+			while (read > 0) {
+				for (int i = 0; i < read; ++i) {
+					process(buffer[i] & 0xFF, offset + i);
+				}
+				offset += read;
+				read = source.read(buffer);
+			}
+			if (this.pendingRevisionEnd >= 0) {
+				revisionEnds.add(this.pendingRevisionEnd);
+			}
+			sourceLength = offset;
+		}
+
+		private void process(int c, long offset) {
+			processRevisionEnd(c, offset);
+			if (this.hexStart >= 0) {
+				processHexString(c, offset);
+			} else if (this.isAfterContentsKey) {
+				if (c == '<') {
+					this.isAfterContentsKey = false;
+					this.hexStart = offset;
+					this.isHexStringEmpty = true;
+				} else if (!isWhitespace(c)) {
+					this.isAfterContentsKey = false;
+				}
+			}
+			this.contentsMatched = match(CONTENTS, this.contentsMatched, c);
+			if (this.contentsMatched == CONTENTS.length) {
+				this.contentsMatched = 0;
+				this.isAfterContentsKey = this.hexStart < 0;
+			}
+		}
+
+		private void processHexString(int c, long offset) {
+			if (c == '>') {
+				contentsStarts.add(this.hexStart);
+				contentsEnds.add(offset + 1);
+				this.hexStart = -1;
+			} else if (c == '<' && this.isHexStringEmpty) {
+				// dictionary, not a hex string
+				this.hexStart = -1;
+			} else {
+				this.isHexStringEmpty = false;
+			}
+		}
+
+		private void processRevisionEnd(int c, long offset) {
+			if (this.pendingRevisionEnd >= 0) {
+				if (c == '\r' && !this.isAfterCR && this.pendingRevisionEnd == offset) {
+					this.pendingRevisionEnd = offset + 1;
+					this.isAfterCR = true;
+					return;
+				} else if (c == '\n' && this.pendingRevisionEnd == offset) {
+					this.pendingRevisionEnd = offset + 1;
+				}
+				revisionEnds.add(this.pendingRevisionEnd);
+				this.pendingRevisionEnd = -1;
+				this.isAfterCR = false;
+			}
+			this.eofMatched = match(EOF, this.eofMatched, c);
+			if (this.eofMatched == EOF.length) {
+				this.eofMatched = 0;
+				this.pendingRevisionEnd = offset + 1;
+			}
+		}
+	}
+
+	private static int match(byte[] pattern, int matched, int c) {
+		if (pattern[matched] == c) {
+			return matched + 1;
+		}
+		// both patterns may only restart at their first byte, "%%EOF" also
+		// after a run of '%'
+		if (matched == 2 && pattern == EOF && c == '%') {
+			return 2;
+		}
+		return pattern[0] == c ? 1 : 0;
+	}
+
+	/**
+	 * Growable sorted list of offsets
+	 */
+	private static final class LongList {
+
+		private long[] values = new long[16];
+		private int size = 0;
+
+		private void add(long value) {
+			if (this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			}
+			this.values[this.size++] = value;
+		}
+
+		private long get(int index) {
+			return this.values[index];
+		}
+
+		private int size() {
+			return this.size;
+		}
+
+		/**
+		 * @return index of the first value that is not less than given one,
+		 * or size of the list if there is no such value
+		 */
+		private int firstGreaterOrEqual(long value) {
+			int index = Arrays.binarySearch(this.values, 0, this.size, value);
+			if (index < 0) {
+				return -index - 1;
+			}
+			while (index > 0 && this.values[index - 1] == value) {
+				--index;
+			}
+			return index;
+		}
+	}
+}
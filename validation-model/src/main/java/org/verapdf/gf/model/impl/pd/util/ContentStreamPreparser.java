@@ -0,0 +1,210 @@
+package org.verapdf.gf.model.impl.pd.util;
+
+import org.verapdf.as.io.ASInputStream;
+import org.verapdf.cos.COSBase;
+import org.verapdf.cos.COSObjType;
+import org.verapdf.cos.COSObject;
+import org.verapdf.cos.COSStream;
+import org.verapdf.gf.model.impl.containers.MemoryBudget;
+import org.verapdf.gf.model.impl.containers.ModelContext;
+import org.verapdf.gf.model.impl.containers.StaticContainers;
+import org.verapdf.parser.PDFStreamParser;
+import org.verapdf.pd.PDAnnotation;
+import org.verapdf.pd.PDAppearanceEntry;
+import org.verapdf.pd.PDAppearanceStream;
+import org.verapdf.pd.PDContentStream;
+import org.verapdf.pd.PDPage;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Tokenizes content streams of pages and of their annotation appearances on a
+ * fork-join pool, keeping a bounded window of pages ahead of the page reached
+ * by the validator.
+ * <p>
+ * Greenfield parser objects are loaded lazily from one shared source and are
+ * not thread safe, so streams are read and decoded on the validating thread.
+ * Only tokenization of the decoded data, which works on its own in-memory
+ * copy, is done by the pool. The decoded data is charged to the memory budget
+ * when the stream is scheduled, and streams of pages the validator has already
+ * left are dropped together with their tokens.
+ *
+ * @author Sergey Shemyakov
+ */
+public class ContentStreamPreparser {
+
+	private static final Logger LOGGER = Logger.getLogger(ContentStreamPreparser.class.getCanonicalName());
+
+	private final List<PDPage> pages;
+	private final int window;
+	private final ForkJoinPool pool;
+
+	private final Map<COSBase, ScheduledStream> tasks = new IdentityHashMap<>();
+	private int scheduledPages = 0;
+	private boolean cancelled = false;
+
+	public ContentStreamPreparser(List<PDPage> pages, int window, ForkJoinPool pool) {
+		this.pages = pages;
+		this.window = window;
+		this.pool = pool;
+	}
+
+	/**
+	 * Notifies preparser that validation of the given page has been started, so
+	 * pages up to {@code pageIndex + window} have to be scheduled for parsing.
+	 * Streams used only by the previous pages are not taken anymore, so they
+	 * are cancelled.
+	 *
+	 * @param pageIndex index of the page in the document
+	 */
+	public void pageReached(int pageIndex) {
+		Iterator<ScheduledStream> iterator = this.tasks.values().iterator();
+		while (iterator.hasNext()) {
+			ScheduledStream scheduled = iterator.next();
+			if (scheduled.lastPageIndex < pageIndex) {
+				scheduled.task.cancel(false);
+				iterator.remove();
+			}
+		}
+		int last = Math.min(this.pages.size(), pageIndex + this.window + 1);
+		for (int i = Math.max(this.scheduledPages, pageIndex); i < last && !this.cancelled; ++i) {
+			schedulePage(this.pages.get(i), i);
+		}
+		this.scheduledPages = Math.max(this.scheduledPages, last);
+	}
+
+	/**
+	 * Obtains tokens of the given content stream parsed in advance. Tokens are
+	 * handed out only once.
+	 *
+	 * @param stream content stream object
+	 * @return list of tokens or null if the stream has not been parsed in advance
+	 */
+	public List<Object> takeTokens(COSBase stream) {
+		ScheduledStream scheduled = this.tasks.remove(stream);
+		if (scheduled == null) {
+			return null;
+		}
+		try {
+			return scheduled.task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOGGER.log(Level.FINE, "Interrupted while waiting for content stream tokens", e);
+		} catch (ExecutionException e) {
+			LOGGER.log(Level.FINE, "Error while parsing content stream in advance", e.getCause());
+		}
+		return null;
+	}
+
+	/**
+	 * Cancels parsing of all content streams that have not been taken yet and
+	 * drops their tokens. Tokens of the canceled streams are not handed out.
+	 */
+	public void cancel() {
+		for (ScheduledStream scheduled : this.tasks.values()) {
+			scheduled.task.cancel(false);
+		}
+		this.tasks.clear();
+		this.scheduledPages = this.pages.size();
+		this.cancelled = true;
+	}
+
+	private void schedulePage(PDPage page, int pageIndex) {
+		schedule(page.getContent(), pageIndex);
+		for (PDAnnotation annotation : page.getAnnotations()) {
+			if (annotation != null) {
+				scheduleAppearance(annotation.getNormalAppearance(), pageIndex);
+				scheduleAppearance(annotation.getDownAppearance(), pageIndex);
+				scheduleAppearance(annotation.getRolloverAppearance(), pageIndex);
+			}
+		}
+	}
+
+	private void scheduleAppearance(PDAppearanceEntry appearanceEntry, int pageIndex) {
+		if (appearanceEntry != null) {
+			if (appearanceEntry.isSubDictionary()) {
+				for (PDAppearanceStream stream : appearanceEntry.getSubDictionary().values()) {
+					schedule(stream, pageIndex);
+				}
+			} else {
+				schedule(appearanceEntry.getAppearanceStream(), pageIndex);
+			}
+		}
+	}
+
+	private void schedule(PDContentStream contentStream, int pageIndex) {
+		if (contentStream == null || this.cancelled) {
+			return;
+		}
+		COSObject contents = contentStream.getContents();
+		if (contents.empty() || contents.getType() != COSObjType.COS_STREAM) {
+			return;
+		}
+		COSBase base = contents.getDirectBase();
+		ScheduledStream scheduled = this.tasks.get(base);
+		if (scheduled != null) {
+			// stream shared by several pages is kept until the last of them
+			scheduled.lastPageIndex = pageIndex;
+			return;
+		}
+		ModelContext context = StaticContainers.getContext();
+		long decodedSize = MemoryBudget.estimateDecodedSize((COSStream) base);
+		if (!context.fitsMemoryBudget(decodedSize + MemoryBudget.estimateTokensSize(decodedSize))) {
+			// the stream is parsed in streaming mode when the validator reaches it
+			return;
+		}
+		context.chargeMemory(decodedSize);
+		if (this.cancelled) {
+			// the charge has switched the document to degraded mode
+			return;
+		}
+		try {
+			ASInputStream opStream = base.getData(COSStream.FilterFlags.DECODE);
+			PDFStreamParser streamParser = new PDFStreamParser(opStream);
+			opStream.close();
+			this.tasks.put(base, new ScheduledStream(this.pool.submit(new TokenizeTask(streamParser)), pageIndex));
+		} catch (IOException e) {
+			LOGGER.log(Level.FINE, "Error while reading content stream. " + e.getMessage(), e);
+		}
+	}
+
+	private static class ScheduledStream {
+
+		private final ForkJoinTask<List<Object>> task;
+		private int lastPageIndex;
+
+		ScheduledStream(ForkJoinTask<List<Object>> task, int lastPageIndex) {
+			this.task = task;
+			this.lastPageIndex = lastPageIndex;
+		}
+	}
+
+	private static class TokenizeTask implements Callable<List<Object>> {
+
+		private final PDFStreamParser streamParser;
+
+		TokenizeTask(PDFStreamParser streamParser) {
+			this.streamParser = streamParser;
+		}
+
+		@Override
+		public List<Object> call() throws IOException {
+			try {
+				this.streamParser.parseTokens();
+				return this.streamParser.getTokens();
+			} finally {
+				this.streamParser.closeInputStream();
+			}
+		}
+	}
+}
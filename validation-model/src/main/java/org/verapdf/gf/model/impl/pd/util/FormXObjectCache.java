@@ -0,0 +1,133 @@
+package org.verapdf.gf.model.impl.pd.util;
+
+import org.verapdf.cos.COSBase;
+import org.verapdf.cos.COSKey;
+import org.verapdf.cos.COSObject;
+import org.verapdf.gf.model.impl.containers.ModelContext;
+import org.verapdf.gf.model.impl.pd.GFPDContentStream;
+import org.verapdf.pd.PDResources;
+import org.verapdf.pd.images.PDXForm;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of parsed content streams of form XObjects. Operators of a form depend
+ * only on the form stream and on the resources it is drawn with, so a form
+ * used from many pages with the same page resources is parsed once. Memory
+ * charged while a cached form is parsed belongs to the cache until the form is
+ * evicted, so it is not discharged with the page that has used the form first.
+ *
+ * @author Sergey Shemyakov
+ */
+public class FormXObjectCache {
+
+	private final ModelContext context;
+	private final Map<Key, Entry> contentStreams;
+
+	/**
+	 * @param context context of the document owning the cache
+	 * @param maxSize maximal number of content streams held by the cache, least
+	 *                recently used streams are evicted first
+	 */
+	public FormXObjectCache(ModelContext context, final int maxSize) {
+		this.context = context;
+		this.contentStreams = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				if (size() > maxSize) {
+					FormXObjectCache.this.context.memoryEvictedFromCache(eldest.getValue().memory);
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Obtains content stream of the form. Operators of the returned object are
+	 * parsed at most once for every form and resources pair held by the cache.
+	 *
+	 * @param form             form XObject
+	 * @param resourcesHandler resources used to draw the form
+	 * @return content stream of the form
+	 */
+	public GFPDContentStream getContentStream(PDXForm form, PDResourcesHandler resourcesHandler) {
+		COSKey formKey = form.getObject().getObjectKey();
+		if (formKey == null) {
+			return new GFPDContentStream(form, resourcesHandler);
+		}
+		Key key = new Key(formKey, getResourcesBase(resourcesHandler.getPageResources()));
+		Entry entry = this.contentStreams.get(key);
+		if (entry != null) {
+			return entry.contentStream;
+		}
+		long memoryStart = this.context.getPageMemory();
+		GFPDContentStream res = new GFPDContentStream(form, resourcesHandler);
+		// operators are parsed here to charge them to the cache entry
+		res.isContainsTransparency();
+		if (!this.context.isDegraded()) {
+			long memory = this.context.getPageMemory() - memoryStart;
+			this.context.memoryRetainedByCache(memory);
+			this.contentStreams.put(key, new Entry(res, memory));
+		}
+		return res;
+	}
+
+	/**
+	 * Removes all content streams from the cache
+	 */
+	public void clear() {
+		for (Entry entry : this.contentStreams.values()) {
+			this.context.memoryEvictedFromCache(entry.memory);
+		}
+		this.contentStreams.clear();
+	}
+
+	private static COSBase getResourcesBase(PDResources resources) {
+		if (resources == null) {
+			return null;
+		}
+		COSObject object = resources.getObject();
+		return object == null ? null : object.getDirectBase();
+	}
+
+	private static class Entry {
+
+		private final GFPDContentStream contentStream;
+		private final long memory;
+
+		Entry(GFPDContentStream contentStream, long memory) {
+			this.contentStream = contentStream;
+			this.memory = memory;
+		}
+	}
+
+	private static class Key {
+
+		private final COSKey formKey;
+		private final COSBase pageResources;
+
+		Key(COSKey formKey, COSBase pageResources) {
+			this.formKey = formKey;
+			this.pageResources = pageResources;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Key that = (Key) o;
+			return this.formKey.equals(that.formKey) && this.pageResources == that.pageResources;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.formKey.hashCode() + System.identityHashCode(this.pageResources);
+		}
+	}
+}
@@ -2,6 +2,7 @@ package org.verapdf.gf.model.impl.pd.util;
 
 import org.verapdf.as.ASAtom;
 import org.verapdf.cos.COSName;
+import org.verapdf.gf.model.impl.containers.StaticContainers;
 import org.verapdf.pd.PDExtGState;
 import org.verapdf.pd.PDResource;
 import org.verapdf.pd.PDResources;
@@ -24,11 +25,15 @@ public class PDResourcesHandler {
 
 	private final PDResources objectResources;
 
+	private final ResolvedResources resolvedResources;
+
 	private PDResourcesHandler(PDResources pageResources, boolean inheritedResources) {
 		this.pageResources = pageResources;
 		this.inheritedResources = inheritedResources;
 
 		this.objectResources = null;
+		this.resolvedResources = StaticContainers.getContext().getResolvedResources(
+				ResolvedResources.createKey(pageResources, null, inheritedResources));
 	}
 
 	private PDResourcesHandler(PDResources pageResources, PDResources objectResources) {
@@ -36,6 +41,8 @@ public class PDResourcesHandler {
 		this.inheritedResources = false;
 
 		this.objectResources = objectResources;
+		this.resolvedResources = StaticContainers.getContext().getResolvedResources(
+				ResolvedResources.createKey(pageResources, objectResources, false));
 	}
 
 	public static PDResourcesHandler getInstance(PDResources resources, boolean inheritedResources) {
@@ -59,18 +66,24 @@ public class PDResourcesHandler {
 	}
 
 	public PDFont getFont(ASAtom name) {
+		ResolvedResources.Entry entry = this.resolvedResources.get(ResolvedResources.FONT, name);
+		if (entry != null) {
+			return (PDFont) applyInherited((PDResource) entry.getResource(), entry.getInherited());
+		}
 		PDFont font;
+		Boolean inherited = null;
 		if (this.objectResources != null) {
 			font = this.objectResources.getFont(name);
 			if (font == null) {
 				font = this.pageResources.getFont(name);
-				setInherited(font, true);
+				inherited = Boolean.TRUE;
 			}
 		} else {
 			font = this.pageResources.getFont(name);
-			setInherited(font, inheritedResources);
+			inherited = Boolean.valueOf(inheritedResources);
 		}
-		return font;
+		this.resolvedResources.put(ResolvedResources.FONT, name, font, inherited);
+		return (PDFont) applyInherited(font, inherited);
 	}
 
 	public PDColorSpace getColorSpace(COSName name) {
@@ -81,24 +94,32 @@ public class PDResourcesHandler {
 	}
 
 	public PDColorSpace getColorSpace(ASAtom name) {
+		ResolvedResources.Entry entry = this.resolvedResources.get(ResolvedResources.COLOR_SPACE, name);
+		if (entry != null) {
+			return applyColorSpaceInherited((PDColorSpace) entry.getResource(), entry.getInherited());
+		}
 		PDColorSpace colorSpace;
+		Boolean inherited = null;
 		if (this.objectResources != null) {
 			if (isDefaultColorSpaceUsed(name)) {
-				return this.objectResources.getDefaultColorSpace(name);
-			}
-			colorSpace = this.objectResources.getColorSpace(name);
-			if (colorSpace == null) {
-				colorSpace = this.pageResources.getColorSpace(name);
-				colorSpace = setColorSpaceInherited(colorSpace, true);
+				colorSpace = this.objectResources.getDefaultColorSpace(name);
+			} else {
+				colorSpace = this.objectResources.getColorSpace(name);
+				if (colorSpace == null) {
+					colorSpace = this.pageResources.getColorSpace(name);
+					inherited = Boolean.TRUE;
+				}
 			}
 		} else {
 			if (isDefaultColorSpaceUsed(name)) {
-				return this.pageResources.getDefaultColorSpace(name);
+				colorSpace = this.pageResources.getDefaultColorSpace(name);
+			} else {
+				colorSpace = this.pageResources.getColorSpace(name);
+				inherited = Boolean.valueOf(inheritedResources);
 			}
-			colorSpace = this.pageResources.getColorSpace(name);
-			colorSpace = setColorSpaceInherited(colorSpace, inheritedResources);
 		}
-		return colorSpace;
+		this.resolvedResources.put(ResolvedResources.COLOR_SPACE, name, colorSpace, inherited);
+		return applyColorSpaceInherited(colorSpace, inherited);
 	}
 
 	public PDPattern getPattern(COSName name) {
@@ -109,18 +130,24 @@ public class PDResourcesHandler {
 	}
 
 	public PDPattern getPattern(ASAtom name) {
+		ResolvedResources.Entry entry = this.resolvedResources.get(ResolvedResources.PATTERN, name);
+		if (entry != null) {
+			return (PDPattern) applyInherited((PDResource) entry.getResource(), entry.getInherited());
+		}
 		PDPattern pattern;
+		Boolean inherited = null;
 		if (this.objectResources != null) {
 			pattern = this.objectResources.getPattern(name);
 			if (pattern == null) {
 				pattern = this.pageResources.getPattern(name);
-				setInherited(pattern, true);
+				inherited = Boolean.TRUE;
 			}
 		} else {
 			pattern = this.pageResources.getPattern(name);
-			setInherited(pattern, inheritedResources);
+			inherited = Boolean.valueOf(inheritedResources);
 		}
-		return pattern;
+		this.resolvedResources.put(ResolvedResources.PATTERN, name, pattern, inherited);
+		return (PDPattern) applyInherited(pattern, inherited);
 	}
 
 	public PDShading getShading(COSName name) {
@@ -131,18 +158,24 @@ public class PDResourcesHandler {
 	}
 
 	public PDShading getShading(ASAtom name) {
+		ResolvedResources.Entry entry = this.resolvedResources.get(ResolvedResources.SHADING, name);
+		if (entry != null) {
+			return (PDShading) applyInherited((PDResource) entry.getResource(), entry.getInherited());
+		}
 		PDShading shading;
+		Boolean inherited = null;
 		if (this.objectResources != null) {
 			shading = this.objectResources.getShading(name);
 			if (shading == null) {
 				shading = this.pageResources.getShading(name);
-				setInherited(shading, true);
+				inherited = Boolean.TRUE;
 			}
 		} else {
 			shading = this.pageResources.getShading(name);
-			setInherited(shading, inheritedResources);
+			inherited = Boolean.valueOf(inheritedResources);
 		}
-		return shading;
+		this.resolvedResources.put(ResolvedResources.SHADING, name, shading, inherited);
+		return (PDShading) applyInherited(shading, inherited);
 	}
 
 	public PDXObject getXObject(COSName name) {
@@ -153,18 +186,24 @@ public class PDResourcesHandler {
 	}
 
 	public PDXObject getXObject(ASAtom name) {
+		ResolvedResources.Entry entry = this.resolvedResources.get(ResolvedResources.XOBJECT, name);
+		if (entry != null) {
+			return (PDXObject) applyInherited((PDResource) entry.getResource(), entry.getInherited());
+		}
 		PDXObject xObject;
+		Boolean inherited = null;
 		if (this.objectResources != null) {
 			xObject = this.objectResources.getXObject(name);
 			if (xObject == null) {
 				xObject = this.pageResources.getXObject(name);
-				setInherited(xObject, true);
+				inherited = Boolean.TRUE;
 			}
 		} else {
 			xObject = this.pageResources.getXObject(name);
-			setInherited(xObject, inheritedResources);
+			inherited = Boolean.valueOf(inheritedResources);
 		}
-		return xObject;
+		this.resolvedResources.put(ResolvedResources.XOBJECT, name, xObject, inherited);
+		return (PDXObject) applyInherited(xObject, inherited);
 	}
 
 	public PDExtGState getExtGState(COSName name) {
@@ -175,18 +214,24 @@ public class PDResourcesHandler {
 	}
 
 	public PDExtGState getExtGState(ASAtom name) {
+		ResolvedResources.Entry entry = this.resolvedResources.get(ResolvedResources.EXT_G_STATE, name);
+		if (entry != null) {
+			return (PDExtGState) applyInherited((PDResource) entry.getResource(), entry.getInherited());
+		}
 		PDExtGState state;
+		Boolean inherited = null;
 		if (this.objectResources != null) {
 			state = this.objectResources.getExtGState(name);
 			if (state == null) {
 				state = this.pageResources.getExtGState(name);
-				setInherited(state, true);
+				inherited = Boolean.TRUE;
 			}
 		} else {
 			state = this.pageResources.getExtGState(name);
-			setInherited(state, inheritedResources);
+			inherited = Boolean.valueOf(inheritedResources);
 		}
-		return state;
+		this.resolvedResources.put(ResolvedResources.EXT_G_STATE, name, state, inherited);
+		return (PDExtGState) applyInherited(state, inherited);
 	}
 
 	public PDColorSpace setColorSpaceInherited(PDColorSpace colorSpace, boolean isInherited) {
@@ -210,6 +255,21 @@ public class PDResourcesHandler {
 		}
 	}
 
+	// resolved resources are shared objects, so the flag is set on every lookup
+	private PDResource applyInherited(PDResource resource, Boolean inherited) {
+		if (inherited != null) {
+			setInherited(resource, inherited.booleanValue());
+		}
+		return resource;
+	}
+
+	private PDColorSpace applyColorSpaceInherited(PDColorSpace colorSpace, Boolean inherited) {
+		if (inherited != null) {
+			return setColorSpaceInherited(colorSpace, inherited.booleanValue());
+		}
+		return colorSpace;
+	}
+
 	public PDResources getObjectResources() {
 		return this.objectResources;
 	}
@@ -219,20 +279,17 @@ public class PDResourcesHandler {
 	}
 
 	private boolean isDefaultColorSpaceUsed(ASAtom name) {
-		if (PDResourcesHandler.isDeviceDependent(name)) {
-			if (objectResources != null) {
-				ASAtom value = org.verapdf.factory.colors.ColorSpaceFactory.getDefaultValue(objectResources, name);
-				if (value != null) {
-					return true;
-				}
-			} else {
-				ASAtom value = org.verapdf.factory.colors.ColorSpaceFactory.getDefaultValue(pageResources, name);
-				if (value != null) {
-					return true;
-				}
-			}
+		if (!PDResourcesHandler.isDeviceDependent(name)) {
+			return false;
+		}
+		ResolvedResources.Entry entry = this.resolvedResources.get(ResolvedResources.DEFAULT_COLOR_SPACE_USED, name);
+		if (entry != null) {
+			return ((Boolean) entry.getResource()).booleanValue();
 		}
-		return false;
+		PDResources resources = objectResources != null ? objectResources : pageResources;
+		boolean res = org.verapdf.factory.colors.ColorSpaceFactory.getDefaultValue(resources, name) != null;
+		this.resolvedResources.put(ResolvedResources.DEFAULT_COLOR_SPACE_USED, name, Boolean.valueOf(res), null);
+		return res;
 	}
 
 	private static boolean isDeviceDependent(ASAtom name) {
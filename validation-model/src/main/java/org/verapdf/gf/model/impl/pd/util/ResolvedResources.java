@@ -0,0 +1,135 @@
+package org.verapdf.gf.model.impl.pd.util;
+
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSBase;
+import org.verapdf.cos.COSObject;
+import org.verapdf.pd.PDResources;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Results of resource lookups made by {@link PDResourcesHandler}. Handlers over
+ * the same page and object resource dictionaries share one instance, so every
+ * named resource is resolved once for all pages and XObjects using them.
+ *
+ * @author Sergey Shemyakov
+ */
+public class ResolvedResources {
+
+	static final int FONT = 0;
+	static final int COLOR_SPACE = 1;
+	static final int PATTERN = 2;
+	static final int SHADING = 3;
+	static final int XOBJECT = 4;
+	static final int EXT_G_STATE = 5;
+	static final int DEFAULT_COLOR_SPACE_USED = 6;
+
+	private static final int NUMBER_OF_TYPES = 7;
+
+	@SuppressWarnings("unchecked")
+	private final Map<ASAtom, Entry>[] entries = new Map[NUMBER_OF_TYPES];
+
+	Entry get(int type, ASAtom name) {
+		Map<ASAtom, Entry> map = this.entries[type];
+		return map == null ? null : map.get(name);
+	}
+
+	void put(int type, ASAtom name, Object resource, Boolean inherited) {
+		Map<ASAtom, Entry> map = this.entries[type];
+		if (map == null) {
+			map = new HashMap<>();
+			this.entries[type] = map;
+		}
+		map.put(name, new Entry(resource, inherited));
+	}
+
+	/**
+	 * Creates key identifying resolved resources of the handler
+	 *
+	 * @param pageResources      page resources of the handler
+	 * @param objectResources    object resources of the handler
+	 * @param inheritedResources true if page resources are inherited
+	 * @return key of resolved resources
+	 */
+	public static Key createKey(PDResources pageResources, PDResources objectResources, boolean inheritedResources) {
+		return new Key(getBase(pageResources), getBase(objectResources), objectResources != null, inheritedResources);
+	}
+
+	private static COSBase getBase(PDResources resources) {
+		if (resources == null) {
+			return null;
+		}
+		COSObject object = resources.getObject();
+		return object == null ? null : object.getDirectBase();
+	}
+
+	/**
+	 * Resolved resource together with the value of inherited flag that has to
+	 * be set on each lookup
+	 */
+	static final class Entry {
+
+		private final Object resource;
+		private final Boolean inherited;
+
+		private Entry(Object resource, Boolean inherited) {
+			this.resource = resource;
+			this.inherited = inherited;
+		}
+
+		Object getResource() {
+			return this.resource;
+		}
+
+		/**
+		 * @return inherited flag of the resource, or null if the flag is not
+		 * changed by the lookup
+		 */
+		Boolean getInherited() {
+			return this.inherited;
+		}
+	}
+
+	/**
+	 * Key of resolved resources: identity of the resource dictionaries and the
+	 * way the handler uses them
+	 */
+	public static final class Key {
+
+		private final COSBase pageResources;
+		private final COSBase objectResources;
+		private final boolean hasObjectResources;
+		private final boolean inheritedResources;
+
+		private Key(COSBase pageResources, COSBase objectResources, boolean hasObjectResources,
+					boolean inheritedResources) {
+			this.pageResources = pageResources;
+			this.objectResources = objectResources;
+			this.hasObjectResources = hasObjectResources;
+			this.inheritedResources = inheritedResources;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Key that = (Key) o;
+			return this.pageResources == that.pageResources && this.objectResources == that.objectResources
+					&& this.hasObjectResources == that.hasObjectResources
+					&& this.inheritedResources == that.inheritedResources;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = System.identityHashCode(this.pageResources);
+			result = 31 * result + System.identityHashCode(this.objectResources);
+			result = 31 * result + (this.hasObjectResources ? 1 : 0);
+			return 31 * result + (this.inheritedResources ? 1 : 0);
+		}
+	}
+}
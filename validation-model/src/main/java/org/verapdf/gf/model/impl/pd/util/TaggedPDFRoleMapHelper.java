@@ -10,8 +10,8 @@ import java.util.*;
  */
 public class TaggedPDFRoleMapHelper {
 
-	private static Set<String> PDF_1_4_STANDART_ROLE_TYPES;
-	private static Set<String> PDF_1_7_STANDART_ROLE_TYPES;
+	private static final Set<String> PDF_1_4_STANDART_ROLE_TYPES;
+	private static final Set<String> PDF_1_7_STANDART_ROLE_TYPES;
 
 	static {
 		Set<String> tempSet = new HashSet<>();
@@ -65,7 +65,7 @@ public class TaggedPDFRoleMapHelper {
 		tempSet.add("Formula");
 		tempSet.add("Form");
 
-		PDF_1_4_STANDART_ROLE_TYPES = new HashSet<>(tempSet);
+		PDF_1_4_STANDART_ROLE_TYPES = Collections.unmodifiableSet(new HashSet<>(tempSet));
 
 		//Standart structure types for table elements PDF 1.7
 		tempSet.add("THead");
@@ -85,7 +85,7 @@ public class TaggedPDFRoleMapHelper {
 		tempSet.add("WT");
 		tempSet.add("WP");
 
-		PDF_1_7_STANDART_ROLE_TYPES = new HashSet<>(tempSet);
+		PDF_1_7_STANDART_ROLE_TYPES = Collections.unmodifiableSet(new HashSet<>(tempSet));
 	}
 
 	private Map<ASAtom, ASAtom> roleMap;
@@ -103,8 +103,7 @@ public class TaggedPDFRoleMapHelper {
 
 	public void setFlavour(PDFAFlavour flavour) {
 		this.currentStandartTypes = flavour.getPart() == PDFAFlavour.Specification.ISO_19005_1 ?
-				Collections.unmodifiableSet(PDF_1_4_STANDART_ROLE_TYPES) :
-				Collections.unmodifiableSet(PDF_1_7_STANDART_ROLE_TYPES);
+				PDF_1_4_STANDART_ROLE_TYPES : PDF_1_7_STANDART_ROLE_TYPES;
 	}
 
 	/**
@@ -0,0 +1,103 @@
+package org.verapdf.gf.model.impl.pd.util;
+
+import com.adobe.xmp.XMPException;
+import com.adobe.xmp.impl.VeraPDFMeta;
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSKey;
+import org.verapdf.cos.COSObject;
+import org.verapdf.pd.PDMetadata;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parsed XMP packages of one document. Packages are identified by the key of
+ * their metadata stream, so every stream is parsed once for flavour detection,
+ * the info dictionary check and the XMP package objects. Failed parsing is
+ * remembered too, and its exception is thrown on every request.
+ *
+ * @author Sergey Shemyakov
+ */
+public class XMPCache {
+
+	private final Map<COSKey, Entry> entries = new HashMap<>();
+
+	/**
+	 * @param metadata metadata stream
+	 * @return parsed XMP package, or null if the metadata has no stream
+	 * @throws XMPException if the package can't be parsed
+	 * @throws IOException  if the stream can't be read
+	 */
+	public VeraPDFMeta getMetadata(PDMetadata metadata) throws XMPException, IOException {
+		return getEntry(metadata).getMetadata();
+	}
+
+	/**
+	 * @param metadata metadata stream
+	 * @return properties of the XMP package that have to match the document
+	 * information dictionary, or null if the metadata has no stream
+	 * @throws XMPException if the package can't be parsed
+	 * @throws IOException  if the stream can't be read
+	 */
+	public Map<ASAtom, Object> getInfoProperties(PDMetadata metadata) throws XMPException, IOException {
+		Entry entry = getEntry(metadata);
+		if (entry.infoProperties == null) {
+			VeraPDFMeta meta = entry.getMetadata();
+			if (meta == null) {
+				return null;
+			}
+			entry.infoProperties = Collections.unmodifiableMap(XMPChecker.getInfoProperties(meta));
+		}
+		return entry.infoProperties;
+	}
+
+	private Entry getEntry(PDMetadata metadata) throws IOException {
+		COSKey key = getKey(metadata);
+		Entry res = key == null ? null : this.entries.get(key);
+		if (res == null) {
+			res = parse(metadata);
+			if (key != null) {
+				this.entries.put(key, res);
+			}
+		}
+		return res;
+	}
+
+	private static COSKey getKey(PDMetadata metadata) {
+		COSObject object = metadata.getObject();
+		return object == null ? null : object.getObjectKey();
+	}
+
+	private static Entry parse(PDMetadata metadata) throws IOException {
+		try (InputStream stream = metadata.getStream()) {
+			if (stream == null) {
+				return new Entry(null, null);
+			}
+			return new Entry(VeraPDFMeta.parse(stream), null);
+		} catch (XMPException e) {
+			return new Entry(null, e);
+		}
+	}
+
+	private static final class Entry {
+
+		private final VeraPDFMeta metadata;
+		private final XMPException exception;
+		private Map<ASAtom, Object> infoProperties;
+
+		private Entry(VeraPDFMeta metadata, XMPException exception) {
+			this.metadata = metadata;
+			this.exception = exception;
+		}
+
+		private VeraPDFMeta getMetadata() throws XMPException {
+			if (this.exception != null) {
+				throw this.exception;
+			}
+			return this.metadata;
+		}
+	}
+}
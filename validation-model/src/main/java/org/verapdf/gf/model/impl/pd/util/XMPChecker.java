@@ -6,11 +6,11 @@ import org.verapdf.as.ASAtom;
 import org.verapdf.cos.COSDocument;
 import org.verapdf.cos.COSObjType;
 import org.verapdf.cos.COSObject;
+import org.verapdf.gf.model.impl.containers.StaticContainers;
 import org.verapdf.pd.PDMetadata;
 import org.verapdf.tools.TypeConverter;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.List;
@@ -59,20 +59,12 @@ public final class XMPChecker {
         }
 
         try {
-            InputStream metadataStream = getMetadataStream(document);
-            if (metadataStream != null) {
-                VeraPDFMeta metadata = VeraPDFMeta.parse(metadataStream);
-
-                Map<ASAtom, Object> properties = new HashMap<>(
-                        MAX_REQUIRED_RECORDS);
-
-                getTitleAuthorSubject(metadata, properties);
-
-                getProducerKeywords(metadata, properties);
-
-                getCreatorAndDates(metadata, properties);
-
-                return checkMatch(info, properties);
+            PDMetadata metadata = document.getPDDocument().getMetadata();
+            if (metadata != null) {
+                Map<ASAtom, Object> properties = StaticContainers.getXMPCache().getInfoProperties(metadata);
+                if (properties != null) {
+                    return checkMatch(info, properties);
+                }
             }
         } catch (IOException e) {
             LOGGER.log(Level.FINE,
@@ -85,12 +77,25 @@ public final class XMPChecker {
         return Boolean.FALSE;
     }
 
-    private static InputStream getMetadataStream(COSDocument document) throws IOException {
-        PDMetadata meta = document.getPDDocument().getMetadata();
-        if (meta != null) {
-            return meta.getStream();
-        }
-        return null;
+    /**
+     * Extracts properties of xmp metadata that have to match the properties
+     * of document information dictionary.
+     *
+     * @param metadata parsed xmp metadata
+     * @return map from the info dictionary key to the value of xmp property
+     * @throws XMPException if xmp properties can't be obtained
+     */
+    static Map<ASAtom, Object> getInfoProperties(VeraPDFMeta metadata) throws XMPException {
+        Map<ASAtom, Object> properties = new HashMap<>(
+                MAX_REQUIRED_RECORDS);
+
+        getTitleAuthorSubject(metadata, properties);
+
+        getProducerKeywords(metadata, properties);
+
+        getCreatorAndDates(metadata, properties);
+
+        return properties;
     }
 
     private static COSObject getInformationDictionary(COSDocument document) {
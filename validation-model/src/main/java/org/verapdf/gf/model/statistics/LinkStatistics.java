@@ -0,0 +1,50 @@
+package org.verapdf.gf.model.statistics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Number of calls and total time of {@code getLinkedObjects} for one link of
+ * one model object class. Time of a call includes creation of the linked
+ * objects, but not validation of them
+ *
+ * @author Sergey Shemyakov
+ */
+public final class LinkStatistics {
+
+	private final String type;
+	private final String link;
+	private final long calls;
+	private final long totalNanos;
+
+	@ConstructorProperties({"type", "link", "calls", "totalNanos"})
+	public LinkStatistics(String type, String link, long calls, long totalNanos) {
+		this.type = type;
+		this.link = link;
+		this.calls = calls;
+		this.totalNanos = totalNanos;
+	}
+
+	/**
+	 * @return simple name of the model object class
+	 */
+	public String getType() {
+		return type;
+	}
+
+	public String getLink() {
+		return link;
+	}
+
+	public long getCalls() {
+		return calls;
+	}
+
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+
+	@Override
+	public String toString() {
+		return type + '.' + link + ": " + calls + " calls, " + totalNanos / 1000000 + " ms";
+	}
+}
@@ -0,0 +1,103 @@
+package org.verapdf.gf.model.statistics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Proxy handler measuring {@code getLinkedObjects} calls of model objects.
+ * Linked objects are returned wrapped into the same proxies, so wrapping the
+ * root object is enough to measure every link followed by the validator.
+ *
+ * @author Sergey Shemyakov
+ */
+public final class LinkTimingHandler implements InvocationHandler {
+
+	private static final String GET_LINKED_OBJECTS = "getLinkedObjects";
+	private static final String EQUALS = "equals";
+
+	private static final ConcurrentMap<Class<?>, Class<?>[]> INTERFACES = new ConcurrentHashMap<>();
+
+	private final Object target;
+	private final ModelStatistics statistics;
+
+	private LinkTimingHandler(Object target, ModelStatistics statistics) {
+		this.target = target;
+		this.statistics = statistics;
+	}
+
+	/**
+	 * @param object     model object
+	 * @param statistics statistics receiving time of links
+	 * @return proxy implementing all interfaces of the object
+	 */
+	public static Object wrap(Object object, ModelStatistics statistics) {
+		if (object == null || Proxy.isProxyClass(object.getClass())) {
+			return object;
+		}
+		Class<?> type = object.getClass();
+		return Proxy.newProxyInstance(type.getClassLoader(), getInterfaces(type),
+				new LinkTimingHandler(object, statistics));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		if (EQUALS.equals(method.getName()) && args != null && args.length == 1) {
+			return Boolean.valueOf(this.target.equals(unwrap(args[0])));
+		}
+		if (!GET_LINKED_OBJECTS.equals(method.getName())) {
+			return invokeTarget(method, args);
+		}
+		long start = System.nanoTime();
+		Object res = invokeTarget(method, args);
+		this.statistics.linkResolved(this.target.getClass(), (String) args[0], System.nanoTime() - start);
+		if (!(res instanceof List)) {
+			return res;
+		}
+		List<?> objects = (List<?>) res;
+		List<Object> wrapped = new ArrayList<>(objects.size());
+		for (Object object : objects) {
+			wrapped.add(wrap(object, this.statistics));
+		}
+		return Collections.unmodifiableList(wrapped);
+	}
+
+	private Object invokeTarget(Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(this.target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private static Object unwrap(Object object) {
+		if (object != null && Proxy.isProxyClass(object.getClass())) {
+			InvocationHandler handler = Proxy.getInvocationHandler(object);
+			if (handler instanceof LinkTimingHandler) {
+				return ((LinkTimingHandler) handler).target;
+			}
+		}
+		return object;
+	}
+
+	private static Class<?>[] getInterfaces(Class<?> type) {
+		Class<?>[] res = INTERFACES.get(type);
+		if (res == null) {
+			Set<Class<?>> interfaces = new LinkedHashSet<>();
+			for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+				Collections.addAll(interfaces, current.getInterfaces());
+			}
+			res = interfaces.toArray(new Class<?>[interfaces.size()]);
+			INTERFACES.putIfAbsent(type, res);
+		}
+		return res;
+	}
+}
@@ -0,0 +1,73 @@
+package org.verapdf.gf.model.statistics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counters of model objects created for one document and of the time spent in
+ * {@code getLinkedObjects} calls made by the validator, per model object class
+ * and link name. Counters are collected only if
+ * {@link org.verapdf.gf.model.ModelParserConfig#isModelStatistics()} is set.
+ *
+ * @author Sergey Shemyakov
+ */
+public class ModelStatistics {
+
+	private final Map<Class<?>, long[]> instances = new HashMap<>();
+	private final Map<Class<?>, Map<String, long[]>> links = new HashMap<>();
+
+	/**
+	 * @param type class of the new model object
+	 */
+	public synchronized void objectCreated(Class<?> type) {
+		long[] counter = this.instances.get(type);
+		if (counter == null) {
+			counter = new long[1];
+			this.instances.put(type, counter);
+		}
+		++counter[0];
+	}
+
+	/**
+	 * @param type  class of the model object
+	 * @param link  name of the link
+	 * @param nanos time spent in the {@code getLinkedObjects} call
+	 */
+	public synchronized void linkResolved(Class<?> type, String link, long nanos) {
+		Map<String, long[]> typeLinks = this.links.get(type);
+		if (typeLinks == null) {
+			typeLinks = new HashMap<>();
+			this.links.put(type, typeLinks);
+		}
+		long[] counter = typeLinks.get(link);
+		if (counter == null) {
+			counter = new long[2];
+			typeLinks.put(link, counter);
+		}
+		++counter[0];
+		counter[1] += nanos;
+	}
+
+	/**
+	 * @return current values of the counters
+	 */
+	public synchronized ModelStatisticsSnapshot getSnapshot() {
+		List<TypeStatistics> types = new ArrayList<>(this.instances.size());
+		for (Map.Entry<Class<?>, long[]> entry : this.instances.entrySet()) {
+			long count = entry.getValue()[0];
+			types.add(new TypeStatistics(entry.getKey().getSimpleName(), count,
+					count * ShallowSizeEstimator.estimate(entry.getKey())));
+		}
+		List<LinkStatistics> linkStatistics = new ArrayList<>();
+		for (Map.Entry<Class<?>, Map<String, long[]>> typeLinks : this.links.entrySet()) {
+			String type = typeLinks.getKey().getSimpleName();
+			for (Map.Entry<String, long[]> entry : typeLinks.getValue().entrySet()) {
+				linkStatistics.add(new LinkStatistics(type, entry.getKey(), entry.getValue()[0],
+						entry.getValue()[1]));
+			}
+		}
+		return new ModelStatisticsSnapshot(types, linkStatistics);
+	}
+}
@@ -0,0 +1,96 @@
+package org.verapdf.gf.model.statistics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Process wide sums of the statistics of closed parsers, published as the
+ * {@value #OBJECT_NAME} MXBean once the first document with statistics is
+ * closed.
+ *
+ * @author Sergey Shemyakov
+ */
+public final class ModelStatisticsRegistry implements ModelStatisticsRegistryMXBean {
+
+	private static final Logger LOGGER = Logger.getLogger(ModelStatisticsRegistry.class.getCanonicalName());
+
+	/**
+	 * Name of the MXBean
+	 */
+	public static final String OBJECT_NAME = "org.verapdf.gf.model:type=ModelStatistics";
+
+	private static ModelStatisticsRegistry instance = null;
+
+	private long documents = 0;
+	private ModelStatisticsSnapshot total = ModelStatisticsSnapshot.EMPTY;
+	private ModelStatisticsSnapshot lastDocument = ModelStatisticsSnapshot.EMPTY;
+
+	private ModelStatisticsRegistry() {
+		// disable default constructor
+	}
+
+	/**
+	 * @return the registry, registered in the platform MBean server
+	 */
+	public static synchronized ModelStatisticsRegistry getInstance() {
+		if (instance == null) {
+			instance = new ModelStatisticsRegistry();
+			try {
+				MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+				ObjectName name = new ObjectName(OBJECT_NAME);
+				if (!server.isRegistered(name)) {
+					server.registerMBean(instance, name);
+				}
+			} catch (JMException | SecurityException e) {
+				LOGGER.log(Level.FINE, "Can't register model statistics MXBean", e);
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * @param snapshot statistics of a processed document
+	 */
+	public synchronized void addDocument(ModelStatisticsSnapshot snapshot) {
+		++this.documents;
+		this.total = this.total.merge(snapshot);
+		this.lastDocument = snapshot;
+	}
+
+	@Override
+	public synchronized long getDocuments() {
+		return this.documents;
+	}
+
+	@Override
+	public synchronized List<TypeStatistics> getTypes() {
+		return this.total.getTypes();
+	}
+
+	@Override
+	public synchronized List<LinkStatistics> getLinks() {
+		return this.total.getLinks();
+	}
+
+	@Override
+	public synchronized List<TypeStatistics> getLastDocumentTypes() {
+		return this.lastDocument.getTypes();
+	}
+
+	@Override
+	public synchronized List<LinkStatistics> getLastDocumentLinks() {
+		return this.lastDocument.getLinks();
+	}
+
+	@Override
+	public synchronized void reset() {
+		this.documents = 0;
+		this.total = ModelStatisticsSnapshot.EMPTY;
+		this.lastDocument = ModelStatisticsSnapshot.EMPTY;
+	}
+}
@@ -0,0 +1,41 @@
+package org.verapdf.gf.model.statistics;
+
+import java.util.List;
+
+/**
+ * JMX view of the statistics of documents parsed by the process
+ *
+ * @author Sergey Shemyakov
+ */
+public interface ModelStatisticsRegistryMXBean {
+
+	/**
+	 * @return number of documents whose statistics are summed up
+	 */
+	long getDocuments();
+
+	/**
+	 * @return model object classes of all documents, largest first
+	 */
+	List<TypeStatistics> getTypes();
+
+	/**
+	 * @return links of all documents, slowest first
+	 */
+	List<LinkStatistics> getLinks();
+
+	/**
+	 * @return model object classes of the last document, largest first
+	 */
+	List<TypeStatistics> getLastDocumentTypes();
+
+	/**
+	 * @return links of the last document, slowest first
+	 */
+	List<LinkStatistics> getLastDocumentLinks();
+
+	/**
+	 * Drops collected statistics
+	 */
+	void reset();
+}
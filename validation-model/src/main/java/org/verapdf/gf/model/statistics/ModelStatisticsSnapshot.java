@@ -0,0 +1,123 @@
+package org.verapdf.gf.model.statistics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable state of model statistics. Types are sorted by estimated size and
+ * links by total time, both in descending order, so the top cost centers come
+ * first.
+ *
+ * @author Sergey Shemyakov
+ */
+public final class ModelStatisticsSnapshot {
+
+	/**
+	 * Snapshot without any objects and links
+	 */
+	public static final ModelStatisticsSnapshot EMPTY = new ModelStatisticsSnapshot(
+			Collections.<TypeStatistics>emptyList(), Collections.<LinkStatistics>emptyList());
+
+	private static final Comparator<TypeStatistics> BY_SIZE = new Comparator<TypeStatistics>() {
+		@Override
+		public int compare(TypeStatistics first, TypeStatistics second) {
+			return Long.compare(second.getEstimatedBytes(), first.getEstimatedBytes());
+		}
+	};
+
+	private static final Comparator<LinkStatistics> BY_TIME = new Comparator<LinkStatistics>() {
+		@Override
+		public int compare(LinkStatistics first, LinkStatistics second) {
+			return Long.compare(second.getTotalNanos(), first.getTotalNanos());
+		}
+	};
+
+	private final List<TypeStatistics> types;
+	private final List<LinkStatistics> links;
+
+	ModelStatisticsSnapshot(List<TypeStatistics> types, List<LinkStatistics> links) {
+		List<TypeStatistics> sortedTypes = new ArrayList<>(types);
+		Collections.sort(sortedTypes, BY_SIZE);
+		List<LinkStatistics> sortedLinks = new ArrayList<>(links);
+		Collections.sort(sortedLinks, BY_TIME);
+		this.types = Collections.unmodifiableList(sortedTypes);
+		this.links = Collections.unmodifiableList(sortedLinks);
+	}
+
+	public List<TypeStatistics> getTypes() {
+		return types;
+	}
+
+	public List<LinkStatistics> getLinks() {
+		return links;
+	}
+
+	/**
+	 * @param limit maximal number of types
+	 * @return types with the largest estimated size
+	 */
+	public List<TypeStatistics> getTopTypes(int limit) {
+		return types.subList(0, Math.min(limit, types.size()));
+	}
+
+	/**
+	 * @param limit maximal number of links
+	 * @return links with the largest total time
+	 */
+	public List<LinkStatistics> getTopLinks(int limit) {
+		return links.subList(0, Math.min(limit, links.size()));
+	}
+
+	public long getTotalInstances() {
+		long res = 0;
+		for (TypeStatistics type : types) {
+			res += type.getInstances();
+		}
+		return res;
+	}
+
+	public long getTotalEstimatedBytes() {
+		long res = 0;
+		for (TypeStatistics type : types) {
+			res += type.getEstimatedBytes();
+		}
+		return res;
+	}
+
+	/**
+	 * @param other another snapshot
+	 * @return snapshot with sums of counters of this and other snapshots
+	 */
+	public ModelStatisticsSnapshot merge(ModelStatisticsSnapshot other) {
+		Map<String, TypeStatistics> mergedTypes = new HashMap<>();
+		addTypes(mergedTypes, types);
+		addTypes(mergedTypes, other.types);
+		Map<String, LinkStatistics> mergedLinks = new HashMap<>();
+		addLinks(mergedLinks, links);
+		addLinks(mergedLinks, other.links);
+		return new ModelStatisticsSnapshot(new ArrayList<>(mergedTypes.values()),
+				new ArrayList<>(mergedLinks.values()));
+	}
+
+	private static void addTypes(Map<String, TypeStatistics> merged, List<TypeStatistics> types) {
+		for (TypeStatistics type : types) {
+			TypeStatistics previous = merged.get(type.getType());
+			merged.put(type.getType(), previous == null ? type : new TypeStatistics(type.getType(),
+					previous.getInstances() + type.getInstances(),
+					previous.getEstimatedBytes() + type.getEstimatedBytes()));
+		}
+	}
+
+	private static void addLinks(Map<String, LinkStatistics> merged, List<LinkStatistics> links) {
+		for (LinkStatistics link : links) {
+			String key = link.getType() + '.' + link.getLink();
+			LinkStatistics previous = merged.get(key);
+			merged.put(key, previous == null ? link : new LinkStatistics(link.getType(), link.getLink(),
+					previous.getCalls() + link.getCalls(), previous.getTotalNanos() + link.getTotalNanos()));
+		}
+	}
+}
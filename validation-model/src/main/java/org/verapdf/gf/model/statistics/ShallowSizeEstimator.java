@@ -0,0 +1,64 @@
+package org.verapdf.gf.model.statistics;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Estimates shallow sizes of objects from their instance fields, assuming a
+ * 64-bit JVM with compressed references: 12 bytes of object header, 4 bytes
+ * per reference and sizes aligned to 8 bytes.
+ *
+ * @author Sergey Shemyakov
+ */
+public final class ShallowSizeEstimator {
+
+	private static final int HEADER_SIZE = 12;
+	private static final int REFERENCE_SIZE = 4;
+	private static final int ALIGNMENT = 8;
+
+	private static final ConcurrentMap<Class<?>, Long> SIZES = new ConcurrentHashMap<>();
+
+	private ShallowSizeEstimator() {
+		// disable default constructor
+	}
+
+	/**
+	 * @param type class of objects
+	 * @return estimated shallow size of one object of the class
+	 */
+	public static long estimate(Class<?> type) {
+		Long size = SIZES.get(type);
+		if (size == null) {
+			size = Long.valueOf(computeSize(type));
+			SIZES.putIfAbsent(type, size);
+		}
+		return size.longValue();
+	}
+
+	private static long computeSize(Class<?> type) {
+		long size = HEADER_SIZE;
+		for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+			for (Field field : current.getDeclaredFields()) {
+				if (!Modifier.isStatic(field.getModifiers())) {
+					size += getFieldSize(field.getType());
+				}
+			}
+		}
+		return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+	}
+
+	private static int getFieldSize(Class<?> fieldType) {
+		if (!fieldType.isPrimitive()) {
+			return REFERENCE_SIZE;
+		} else if (fieldType == long.class || fieldType == double.class) {
+			return 8;
+		} else if (fieldType == int.class || fieldType == float.class) {
+			return 4;
+		} else if (fieldType == short.class || fieldType == char.class) {
+			return 2;
+		}
+		return 1;
+	}
+}
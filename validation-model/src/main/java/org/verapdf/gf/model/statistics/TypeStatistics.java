@@ -0,0 +1,46 @@
+package org.verapdf.gf.model.statistics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Number and estimated size of the model objects of one class
+ *
+ * @author Sergey Shemyakov
+ */
+public final class TypeStatistics {
+
+	private final String type;
+	private final long instances;
+	private final long estimatedBytes;
+
+	@ConstructorProperties({"type", "instances", "estimatedBytes"})
+	public TypeStatistics(String type, long instances, long estimatedBytes) {
+		this.type = type;
+		this.instances = instances;
+		this.estimatedBytes = estimatedBytes;
+	}
+
+	/**
+	 * @return simple name of the model object class
+	 */
+	public String getType() {
+		return type;
+	}
+
+	public long getInstances() {
+		return instances;
+	}
+
+	/**
+	 * @return estimated shallow size of all created objects of the class. Parser
+	 * objects wrapped by the model objects are not included
+	 */
+	public long getEstimatedBytes() {
+		return estimatedBytes;
+	}
+
+	@Override
+	public String toString() {
+		return type + ": " + instances + " objects, ~" + estimatedBytes + " bytes";
+	}
+}
@@ -0,0 +1,50 @@
+package org.verapdf.gf.model.tools;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Append-only list that stores its elements in fixed size chunks. Unlike
+ * {@link ArrayList} it never copies already added elements and never needs one
+ * contiguous array for all of them, so it suits very large lists that are
+ * filled once and then only read.
+ *
+ * @author Sergey Shemyakov
+ */
+public class ChunkedList<E> extends AbstractList<E> implements RandomAccess {
+
+	private static final int CHUNK_SHIFT = 10;
+	private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	private final List<Object[]> chunks = new ArrayList<>();
+	private int size = 0;
+
+	@Override
+	public boolean add(E element) {
+		int offset = this.size & CHUNK_MASK;
+		if (offset == 0) {
+			this.chunks.add(new Object[CHUNK_SIZE]);
+		}
+		this.chunks.get(this.size >>> CHUNK_SHIFT)[offset] = element;
+		++this.size;
+		++this.modCount;
+		return true;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E get(int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		}
+		return (E) this.chunks.get(index >>> CHUNK_SHIFT)[index & CHUNK_MASK];
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+}
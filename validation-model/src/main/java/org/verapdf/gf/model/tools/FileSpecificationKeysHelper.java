@@ -2,7 +2,6 @@ package org.verapdf.gf.model.tools;
 
 import org.verapdf.as.ASAtom;
 import org.verapdf.cos.*;
-import org.verapdf.gf.model.impl.containers.StaticContainers;
 import org.verapdf.pd.*;
 import org.verapdf.pd.font.PDFont;
 import org.verapdf.pd.font.PDType3Font;
@@ -14,7 +13,9 @@ import org.verapdf.pd.patterns.PDShadingPattern;
 import org.verapdf.pd.patterns.PDTilingPattern;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -22,73 +23,137 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
+ * Index of the keys of file specifications referenced from AF entries of the
+ * document objects. The document is walked lazily: the walk is advanced only
+ * until the requested key is found, so associated files referenced from the
+ * catalog are found without visiting the pages, and documents without file
+ * specifications are not walked at all.
+ *
  * @author Maksim Bezrukov
  */
 public class FileSpecificationKeysHelper {
 	private final static Logger LOGGER = Logger.getLogger(FileSpecificationKeysHelper.class.getCanonicalName());
 
-	private static Set<COSKey> visitedKeys = new HashSet<>();
+	private static final Object PAGES = new Object();
 
-	public static void registerFileSpecificationKeys(COSDocument document) {
-		PDDocument pdDocument = document.getPDDocument();
-		if (pdDocument == null) {
+	private final PDDocument document;
+	private final Set<COSKey> visitedKeys = new HashSet<>();
+	private final Set<COSKey> fileSpecificationKeys = new HashSet<>();
+	private final Deque<Object> pending = new ArrayDeque<>();
+	private boolean isStarted = false;
+
+	/**
+	 * @param document document to look for associated files in, may be null
+	 */
+	public FileSpecificationKeysHelper(PDDocument document) {
+		this.document = document;
+	}
+
+	/**
+	 * @param key key of the file specification dictionary
+	 * @return true if the file specification is referenced from AF entry of
+	 * any document object
+	 */
+	public boolean isFileSpecificationKey(COSKey key) {
+		if (key == null) {
+			return false;
+		}
+		if (!this.isStarted) {
+			this.isStarted = true;
+			start();
+		}
+		while (!this.fileSpecificationKeys.contains(key) && !this.pending.isEmpty()) {
+			process(this.pending.poll());
+		}
+		return this.fileSpecificationKeys.contains(key);
+	}
+
+	private void start() {
+		if (this.document == null) {
 			return;
 		}
 		try {
-			PDCatalog catalog = pdDocument.getCatalog();
+			PDCatalog catalog = this.document.getCatalog();
 			if (catalog != null) {
 				registerDictionaryAFKeys(catalog.getObject());
-				processStructElements(catalog.getStructTreeRoot());
+				enqueue(catalog.getStructTreeRoot());
 			}
 		} catch (IOException e) {
 			LOGGER.log(Level.SEVERE, "Can not get document catalog", e);
 		}
+		enqueue(PAGES);
+	}
+
+	private void enqueue(Object object) {
+		if (object != null) {
+			this.pending.add(object);
+		}
+	}
+
+	private void process(Object object) {
+		if (object == PAGES) {
+			processPages();
+		} else if (object instanceof PDStructTreeNode) {
+			processStructElements((PDStructTreeNode) object);
+		} else if (object instanceof PDPage) {
+			processPage((PDPage) object);
+		} else if (object instanceof PDXObject) {
+			processXObject((PDXObject) object);
+		} else if (object instanceof PDResources) {
+			parseResources((PDResources) object);
+		} else if (object instanceof PDExtGState) {
+			processExtGState((PDExtGState) object);
+		} else if (object instanceof PDFont) {
+			processFont((PDFont) object);
+		} else if (object instanceof PDPattern) {
+			processPattern((PDPattern) object);
+		}
+	}
+
+	private void processPages() {
 		try {
-			List<PDPage> pages = pdDocument.getPages();
+			List<PDPage> pages = this.document.getPages();
 			for (PDPage page : pages) {
-				processPage(page);
+				enqueue(page);
 			}
 		} catch (IOException e) {
 			LOGGER.log(Level.SEVERE, "Can not get list of pages", e);
 		}
-		visitedKeys.clear();
 	}
 
-	private static void processStructElements(PDStructTreeNode structureNode) {
-		if (structureNode != null) {
-			for (PDStructElem obj : structureNode.getChildren()) {
+	private void processStructElements(PDStructTreeNode structureNode) {
+		for (PDStructElem obj : structureNode.getChildren()) {
+			// K entries may refer back to an ancestor in a broken structure tree
+			if (!isKeyVisited(obj.getObject().getKey())) {
 				registerDictionaryAFKeys(obj.getObject());
-				processStructElements(obj);
+				enqueue(obj);
 			}
 		}
 	}
 
-	private static void processPage(PDPage page) {
-		if (page != null) {
-			registerDictionaryAFKeys(page.getObject());
-			for (PDAnnotation annotation : page.getAnnotations()) {
-				if (annotation != null) {
-					registerDictionaryAFKeys(annotation.getObject());
-					for (PDAppearanceStream stream : getAllAppearances(annotation)) {
-						processXObject(stream);
-					}
+	private void processPage(PDPage page) {
+		registerDictionaryAFKeys(page.getObject());
+		for (PDAnnotation annotation : page.getAnnotations()) {
+			if (annotation != null) {
+				registerDictionaryAFKeys(annotation.getObject());
+				for (PDAppearanceStream stream : getAllAppearances(annotation)) {
+					enqueue(stream);
 				}
 			}
-			parseResources(page.getResources());
 		}
+		enqueue(page.getResources());
 	}
 
-	private static void processXObject(PDXObject xObject) {
-		if (xObject != null && !isKeyVisited(xObject.getObject().getKey())) {
+	private void processXObject(PDXObject xObject) {
+		if (!isKeyVisited(xObject.getObject().getKey())) {
 			registerDictionaryAFKeys(xObject.getObject());
 			if (ASAtom.FORM.equals(xObject.getType())) {
-				parseResources(((PDXForm) xObject).getResources());
-			} else if (ASAtom.FORM.equals(xObject.getType())) {
+				enqueue(((PDXForm) xObject).getResources());
+			} else if (ASAtom.IMAGE.equals(xObject.getType())) {
 				PDXImage image = (PDXImage) xObject;
-				processXObject(image.getMask());
-				processXObject(image.getMask());
+				enqueue(image.getMask());
 				for (PDXImage obj : image.getAlternates()) {
-					processXObject(obj);
+					enqueue(obj);
 				}
 			}
 		}
@@ -122,7 +187,7 @@ public class FileSpecificationKeysHelper {
 		}
 	}
 
-	private static void registerDictionaryAFKeys(COSObject dictionary) {
+	private void registerDictionaryAFKeys(COSObject dictionary) {
 		if (dictionary == null || !(dictionary.getType().isDictionaryBased())) {
 			return;
 		}
@@ -134,85 +199,64 @@ public class FileSpecificationKeysHelper {
 		}
 	}
 
-	private static void processExtGState(PDExtGState extGState) {
-		if (extGState != null && !isKeyVisited(extGState.getObject().getKey())) {
-			processFont(extGState.getFont());
+	private void processExtGState(PDExtGState extGState) {
+		if (!isKeyVisited(extGState.getObject().getKey())) {
+			enqueue(extGState.getFont());
 		}
 	}
 
-	private static void processFont(PDFont font) {
-		if (font != null
-				&& !isKeyVisited(font.getObject().getKey())
+	private void processFont(PDFont font) {
+		if (!isKeyVisited(font.getObject().getKey())
 				&& ASAtom.TYPE3.equals(font.getSubtype())) {
-			parseResources(((PDType3Font) font).getResources());
+			enqueue(((PDType3Font) font).getResources());
 		}
 	}
 
-	private static void processPattern(PDPattern pattern) {
-		if (pattern != null && !isKeyVisited(pattern.getObject().getKey())) {
+	private void processPattern(PDPattern pattern) {
+		if (!isKeyVisited(pattern.getObject().getKey())) {
 			if (pattern.getPatternType() == 1) {
-				parseResources(((PDTilingPattern) pattern).getResources());
+				enqueue(((PDTilingPattern) pattern).getResources());
 			} else if (pattern.getPatternType() == 2) {
-				processExtGState(((PDShadingPattern) pattern).getExtGState());
+				enqueue(((PDShadingPattern) pattern).getExtGState());
 			}
 		}
 	}
 
-	private static void parseResources(PDResources resources) {
-		if (resources != null) {
-			parseResourcesXObjects(resources);
-			parseResourcesExtGState(resources);
-			parseResourcesPatterns(resources);
-			parseResourcesFonts(resources);
-		}
-	}
-
-	private static void parseResourcesPatterns(PDResources resources) {
-		for (ASAtom name : resources.getPatternNames()) {
-			PDPattern pattern = resources.getPattern(name);
-			processPattern(pattern);
+	private void parseResources(PDResources resources) {
+		for (ASAtom name : resources.getXObjectNames()) {
+			enqueue(resources.getXObject(name));
 		}
-	}
-
-	private static void parseResourcesExtGState(PDResources resources) {
 		for (ASAtom name : resources.getExtGStateNames()) {
-			PDExtGState extGState = resources.getExtGState(name);
-			processExtGState(extGState);
+			enqueue(resources.getExtGState(name));
 		}
-	}
-
-	private static void parseResourcesXObjects(PDResources resources) {
-		for (ASAtom name : resources.getXObjectNames()) {
-			PDXObject xObject = resources.getXObject(name);
-			processXObject(xObject);
-
+		for (ASAtom name : resources.getPatternNames()) {
+			enqueue(resources.getPattern(name));
 		}
-	}
-
-	private static void parseResourcesFonts(PDResources resources) {
 		for (ASAtom name : resources.getFontNames()) {
-			PDFont font = resources.getFont(name);
-			processFont(font);
+			enqueue(resources.getFont(name));
 		}
 	}
 
-	private static void addElementKey(COSObject element) {
+	private void addElementKey(COSObject element) {
 		if (element != null) {
 			COSBase directBase = element.getDirectBase();
 			if (directBase != null) {
 				COSKey key = directBase.getObjectKey();
 				if (key != null) {
-					StaticContainers.fileSpecificationKeys.add(key);
+					this.fileSpecificationKeys.add(key);
 				}
 			}
 		}
 	}
 
-	private static boolean isKeyVisited(COSKey key) {
-		if (visitedKeys.contains(key)) {
+	private boolean isKeyVisited(COSKey key) {
+		if (key == null) {
+			return false;
+		}
+		if (this.visitedKeys.contains(key)) {
 			return true;
 		}
-		visitedKeys.add(key);
+		this.visitedKeys.add(key);
 		return false;
 	}
 }